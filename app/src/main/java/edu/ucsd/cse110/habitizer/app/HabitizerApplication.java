@@ -2,6 +2,7 @@ package edu.ucsd.cse110.habitizer.app;
 
 import android.app.Application;
 import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
@@ -14,21 +15,31 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Objects;
 
 import edu.ucsd.cse110.habitizer.app.data.db.AppDatabase;
 import edu.ucsd.cse110.habitizer.app.data.db.HabitizerRepository;
 import edu.ucsd.cse110.habitizer.app.data.db.RoutineEntity;
 import edu.ucsd.cse110.habitizer.app.data.db.RoutineTaskCrossRef;
 import edu.ucsd.cse110.habitizer.app.data.db.TaskEntity;
+import edu.ucsd.cse110.habitizer.app.util.ElapsedRealtimeTimeSource;
 import edu.ucsd.cse110.habitizer.lib.data.InMemoryDataSource;
+import edu.ucsd.cse110.habitizer.lib.data.InMemoryRunHistoryStore;
 import edu.ucsd.cse110.habitizer.lib.domain.Routine;
 import edu.ucsd.cse110.habitizer.lib.domain.RoutineRepository;
+import edu.ucsd.cse110.habitizer.lib.domain.RunHistoryStore;
 import edu.ucsd.cse110.habitizer.lib.domain.Task;
 import edu.ucsd.cse110.habitizer.lib.domain.TaskRepository;
+import edu.ucsd.cse110.habitizer.lib.domain.timer.MonotonicClock;
+import edu.ucsd.cse110.habitizer.lib.util.AsyncLogSink;
+import edu.ucsd.cse110.habitizer.lib.util.Logger;
+import edu.ucsd.cse110.observables.LeakDetector;
 import edu.ucsd.cse110.observables.MutableSubject;
 import edu.ucsd.cse110.observables.Observer;
+import edu.ucsd.cse110.observables.PlainMediatorSubject;
 import edu.ucsd.cse110.observables.PlainMutableSubject;
 import edu.ucsd.cse110.observables.Subject;
+import edu.ucsd.cse110.observables.Subjects;
 
 public class HabitizerApplication extends Application {
     private static final String TAG = "HabitizerApplication";
@@ -37,9 +48,15 @@ public class HabitizerApplication extends Application {
     // Repositories for MainViewModel compatibility
     private RoutineRepository routineRepository;
     private TaskRepository taskRepository;
+    // Finished runs of routines
+    private final RunHistoryStore runHistory = new InMemoryRunHistoryStore();
     
     // Observer tracking
     private static final AtomicInteger observerCount = new AtomicInteger(0);
+    // Observer count at which a subject is reported as leaking, in debuggable builds
+    private static final int OBSERVER_LEAK_THRESHOLD = 32;
+    // How many lib log messages can wait for the log writer thread
+    private static final int LOG_BUFFER_SIZE = 256;
     
     // Default data for initialization
     private static final List<Task> DEFAULT_MORNING_TASKS = List.of(
@@ -78,20 +95,9 @@ public class HabitizerApplication extends Application {
         @Override
         public Subject<Task> find(int id) {
             Log.d(TAG, "TaskRepository #" + repositoryId + ": Looking for task with ID " + id);
-            // Create a subject that observes the repository's task
-            PlainMutableSubject<Task> subject = new PlainMutableSubject<>();
-            
-            // Initialize with current value if available
-            List<Task> tasks = repository.getTasks().getValue();
-            if (tasks != null) {
-                for (Task task : tasks) {
-                    if (task.getTaskId() == id) {
-                        Log.d(TAG, "TaskRepository #" + repositoryId + ": Found task " + task.getTaskName());
-                        subject.setValue(task);
-                        break;
-                    }
-                }
-            }
+            // Create a subject that observes the repository's task. It only follows the
+            // repository while it is observed itself, so lookups don't leak observers.
+            PlainMediatorSubject<Task> subject = new PlainMediatorSubject<>();
             
             // Observe repository changes
             int observerId = observerCount.incrementAndGet();
@@ -110,7 +116,7 @@ public class HabitizerApplication extends Application {
                 }
             };
             
-            repository.getTasks().observe(taskObserver);
+            subject.addSource(repository.getTasks(), taskObserver);
             
             return subject;
         }
@@ -144,6 +150,10 @@ public class HabitizerApplication extends Application {
             super(new InMemoryDataSource()); // This won't be used
             repositoryId = observerCount.incrementAndGet();
             Log.d(TAG, "Created HabitizerRoutineRepository #" + repositoryId);
+
+            // The home screen only renders ids and names, so skip rebinding it when
+            // a repository refresh republishes the same listing
+            allRoutinesSubject.setEquivalence(HabitizerApplication::sameRoutineListing);
         }
         
         @Override
@@ -157,20 +167,9 @@ public class HabitizerApplication extends Application {
         @Override
         public Subject<Routine> find(int id) {
             Log.d(TAG, "RoutineRepository #" + repositoryId + ": Looking for routine with ID " + id);
-            // Create a subject that observes the repository's routine
-            PlainMutableSubject<Routine> subject = new PlainMutableSubject<>();
-            
-            // Initialize with current value if available
-            List<Routine> routines = repository.getRoutines().getValue();
-            if (routines != null) {
-                for (Routine routine : routines) {
-                    if (routine.getRoutineId() == id) {
-                        Log.d(TAG, "RoutineRepository #" + repositoryId + ": Found routine " + routine.getRoutineName());
-                        subject.setValue(routine);
-                        break;
-                    }
-                }
-            }
+            // Create a subject that observes the repository's routine. It only follows the
+            // repository while it is observed itself, so lookups don't leak observers.
+            PlainMediatorSubject<Routine> subject = new PlainMediatorSubject<>();
             
             // Observe repository changes
             int observerId = observerCount.incrementAndGet();
@@ -189,7 +188,7 @@ public class HabitizerApplication extends Application {
                 }
             };
             
-            repository.getRoutines().observe(routineObserver);
+            subject.addSource(repository.getRoutines(), routineObserver);
             
             return subject;
         }
@@ -225,37 +224,37 @@ public class HabitizerApplication extends Application {
                     Log.d(TAG, "RoutineRepository #" + repositoryId + ": Creating shared routine observer #" + observerId);
                     
                     repositoryRoutineObserver = routineList -> {
-                        synchronized (routinesLock) {
-                            Log.d(TAG, "Shared routine observer #" + observerId + " triggered with " + 
-                                  (routineList != null ? routineList.size() : 0) + " routines, has " + 
-                                  allRoutinesSubject.getObservers().size() + " subscribers");
+                        // No lock needed: setting the subject is atomic, and it's all this does
+                        Log.d(TAG, "Shared routine observer #" + observerId + " triggered with " + 
+                              (routineList != null ? routineList.size() : 0) + " routines, has " + 
+                              allRoutinesSubject.getObservers().size() + " subscribers");
+                        
+                        if (routineList != null) {
+                            // Check for duplicates in the incoming list
+                            Map<Integer, Routine> uniqueRoutineMap = new HashMap<>();
+                            for (Routine r : routineList) {
+                                uniqueRoutineMap.put(r.getRoutineId(), r);
+                            }
                             
-                            if (routineList != null) {
-                                // Check for duplicates in the incoming list
-                                Map<Integer, Routine> uniqueRoutineMap = new HashMap<>();
-                                for (Routine r : routineList) {
-                                    uniqueRoutineMap.put(r.getRoutineId(), r);
-                                }
-                                
-                                List<Routine> deduplicatedList = new ArrayList<>(uniqueRoutineMap.values());
-                                
-                                if (deduplicatedList.size() < routineList.size()) {
-                                    Log.w(TAG, "Found and removed " + (routineList.size() - deduplicatedList.size()) + 
-                                          " duplicate routines in repository data");
-                                }
-                                
-                                // Create a copy to avoid reference issues
-                                List<Routine> copyList = new ArrayList<>(deduplicatedList);
-                                Log.d(TAG, "Setting " + copyList.size() + " routines on allRoutinesSubject");
-                                allRoutinesSubject.setValue(copyList);
-                            } else {
-                                Log.d(TAG, "Setting empty list on allRoutinesSubject (null value received)");
-                                allRoutinesSubject.setValue(new ArrayList<>());
+                            List<Routine> deduplicatedList = new ArrayList<>(uniqueRoutineMap.values());
+                            
+                            if (deduplicatedList.size() < routineList.size()) {
+                                Log.w(TAG, "Found and removed " + (routineList.size() - deduplicatedList.size()) + 
+                                      " duplicate routines in repository data");
                             }
+                            
+                            // Create a copy to avoid reference issues
+                            List<Routine> copyList = new ArrayList<>(deduplicatedList);
+                            Log.d(TAG, "Setting " + copyList.size() + " routines on allRoutinesSubject");
+                            allRoutinesSubject.setValue(copyList);
+                        } else {
+                            Log.d(TAG, "Setting empty list on allRoutinesSubject (null value received)");
+                            allRoutinesSubject.setValue(new ArrayList<>());
                         }
                     };
                     
-                    // Initialize with current values
+                    // Initialize with current values, unless the repository has already pushed newer ones
+                    long initialVersion = allRoutinesSubject.getVersioned().version();
                     List<Routine> currentRoutines = repository.getRoutines().getValue();
                     if (currentRoutines != null) {
                         // Check for duplicates in the initial list
@@ -274,10 +273,10 @@ public class HabitizerApplication extends Application {
                         // Create a copy to avoid reference issues
                         List<Routine> copyList = new ArrayList<>(deduplicatedList);
                         Log.d(TAG, "Initially setting " + copyList.size() + " routines on allRoutinesSubject");
-                        allRoutinesSubject.setValue(copyList);
+                        allRoutinesSubject.setValueIfVersion(copyList, initialVersion);
                     } else {
                         Log.d(TAG, "Initially setting 0 routines on allRoutinesSubject");
-                        allRoutinesSubject.setValue(new ArrayList<>());
+                        allRoutinesSubject.setValueIfVersion(new ArrayList<>(), initialVersion);
                     }
                     
                     // Subscribe the observer to the repository
@@ -447,6 +446,10 @@ public class HabitizerApplication extends Application {
         return routineRepository;
     }
 
+    public RunHistoryStore getRunHistory() {
+        return runHistory;
+    }
+
     /**
      * Force refresh routines by updating from database
      */
@@ -571,6 +574,29 @@ public class HabitizerApplication extends Application {
         super.onCreate();
         Log.d(TAG, "HabitizerApplication onCreate - Starting initialization");
 
+        // Time routines on a clock that neither jumps with the wall clock nor stops while asleep
+        MonotonicClock.setDefault(new MonotonicClock(new ElapsedRealtimeTimeSource()));
+
+        boolean debuggable = (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+
+        // Send the lib's logging to logcat from a background thread, without debug messages in release builds
+        Logger.setLevel(debuggable ? Logger.Level.DEBUG : Logger.Level.INFO);
+        Logger.setSink(new AsyncLogSink((level, tag, message, error) -> {
+            int priority = switch (level) {
+                case DEBUG -> Log.DEBUG;
+                case INFO -> Log.INFO;
+                case WARN -> Log.WARN;
+                case ERROR -> Log.ERROR;
+            };
+            Log.println(priority, tag, error == null ? message : message + "\n" + Log.getStackTraceString(error));
+        }, LOG_BUFFER_SIZE));
+
+        // In debuggable builds, warn about subjects whose observers keep piling up
+        if (debuggable) {
+            Subjects.setMetrics(new LeakDetector(OBSERVER_LEAK_THRESHOLD, (subject, name, observers) ->
+                    Log.w(TAG, "Possible observer leak: " + name + " has " + observers + " observers")));
+        }
+
         // Initialize ThreeTenABP library to support Java 8 date-time API
         try {
             Class.forName("com.jakewharton.threetenabp.AndroidThreeTen");
@@ -857,6 +883,23 @@ public class HabitizerApplication extends Application {
         }
     }
 
+    /**
+     * Check whether two routine lists would be displayed identically on the home screen
+     * (same routines, same names, same order)
+     */
+    private static boolean sameRoutineListing(List<Routine> a, List<Routine> b) {
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            Routine left = a.get(i);
+            Routine right = b.get(i);
+            if (!Objects.equals(left.getRoutineId(), right.getRoutineId())
+                    || !Objects.equals(left.getRoutineName(), right.getRoutineName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void logTaskDetails(Routine routine) {
         Log.d(TAG, "Routine ID: " + routine.getRoutineId());
         Log.d(TAG, "Routine Name: " + routine.getRoutineName());
@@ -6,16 +6,29 @@ import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.viewmodel.ViewModelInitializer;
 
 import edu.ucsd.cse110.habitizer.lib.domain.RoutineRepository;
+import edu.ucsd.cse110.habitizer.lib.domain.RunHistoryStore;
 import edu.ucsd.cse110.habitizer.lib.domain.TaskRepository;
 import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.observables.Disposable;
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+import edu.ucsd.cse110.observables.Subject;
+import edu.ucsd.cse110.observables.Transformations;
 
 import java.util.List;
 
 public class MainViewModel extends ViewModel {
     private static final String LOG_TAG = "MainViewModel";
+    // How many recently viewed routines to keep lookups for, see getSelectedRoutine()
+    private static final int RECENT_ROUTINES = 4;
 
     private final TaskRepository taskRepository;
     private final RoutineRepository routineRepository;
+    private final RunHistoryStore runHistory;
+
+    private final PlainMutableSubject<Integer> selectedRoutineId = new PlainMutableSubject<>();
+    private final Subject<Routine> selectedRoutine;
+    // Keeps the recent lookups warm while the ViewModel lives, not just while a routine is shown
+    private final Disposable selectedRoutineCache;
 
     public static final ViewModelInitializer<MainViewModel> initializer =
             new ViewModelInitializer<>(
@@ -23,14 +36,23 @@ public class MainViewModel extends ViewModel {
                     creationExtras -> {
                         var app = (HabitizerApplication) creationExtras.get(APPLICATION_KEY);
                         assert app != null;
-                        return new MainViewModel(app.getTaskRepository(), app.getRoutineRepository());
+                        return new MainViewModel(app.getTaskRepository(), app.getRoutineRepository(), app.getRunHistory());
                     });
 
-    public MainViewModel(TaskRepository taskRepository, RoutineRepository routineRepository) {
+    public MainViewModel(TaskRepository taskRepository, RoutineRepository routineRepository,
+                         RunHistoryStore runHistory) {
         this.taskRepository = taskRepository;
         this.routineRepository = routineRepository;
+        this.runHistory = runHistory;
 
         // Create observable subjects
+        this.selectedRoutine = Transformations.switchMap(selectedRoutineId, routineRepository::find, RECENT_ROUTINES);
+        this.selectedRoutineCache = selectedRoutine.subscribe(routine -> { });
+    }
+
+    @Override
+    protected void onCleared() {
+        selectedRoutineCache.dispose();
     }
 
     public TaskRepository getTaskRepository() {
@@ -41,6 +63,28 @@ public class MainViewModel extends ViewModel {
         return routineRepository;
     }
 
+    public RunHistoryStore getRunHistory() {
+        return runHistory;
+    }
+
+    /**
+     * Select the routine being viewed, see {@link #getSelectedRoutine()}.
+     * @param routineId The ID of the routine
+     */
+    public void selectRoutine(int routineId) {
+        selectedRoutineId.setValue(routineId);
+    }
+
+    /**
+     * The routine selected with {@link #selectRoutine(int)}, kept up to date with the repository.
+     * Lookups of recently selected routines are reused, so going back and forth between routines
+     * doesn't create a new lookup each time.
+     * @return A subject holding the selected routine
+     */
+    public Subject<Routine> getSelectedRoutine() {
+        return selectedRoutine;
+    }
+
     /**
      * Get a routine by its ID
      * @param routineId The ID of the routine to retrieve
@@ -17,12 +17,13 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 
 import edu.ucsd.cse110.habitizer.lib.domain.Routine;
 import edu.ucsd.cse110.habitizer.lib.domain.Task;
-import edu.ucsd.cse110.observables.MutableSubject;
 import edu.ucsd.cse110.observables.Subject;
 import edu.ucsd.cse110.observables.PlainMutableSubject;
+import edu.ucsd.cse110.observables.Versioned;
 
 /**
  * Application data repository, encapsulating Room database operations
@@ -37,8 +38,8 @@ public class HabitizerRepository {
     private final Handler mainHandler;
     
     // Observable data collections
-    private final MutableSubject<List<Task>> tasksSubject = new PlainMutableSubject<>(new ArrayList<>());
-    private final MutableSubject<List<Routine>> routinesSubject = new PlainMutableSubject<>(new ArrayList<>());
+    private final PlainMutableSubject<List<Task>> tasksSubject = new PlainMutableSubject<>(new ArrayList<>());
+    private final PlainMutableSubject<List<Routine>> routinesSubject = new PlainMutableSubject<>(new ArrayList<>());
     
     // LiveData for caching data
     private final MutableLiveData<List<Task>> tasksLiveData = new MutableLiveData<>(new ArrayList<>());
@@ -101,10 +102,49 @@ public class HabitizerRepository {
         this.executor = Executors.newSingleThreadExecutor();
         this.mainHandler = new Handler(Looper.getMainLooper());
         
+        // Background writes are stored right away and notify observers on the main thread
+        tasksSubject.setPostExecutor(mainHandler::post);
+        routinesSubject.setPostExecutor(mainHandler::post);
+        
         // Load initial data from database
         loadInitialData();
     }
     
+    /**
+     * Apply a change to the latest list held by a subject, from a background thread.
+     * The result is stored right away, so the next write builds on it even if the main thread
+     * hasn't run the notification yet. If another write got in between reading the list and
+     * storing the result, the change is applied again on top of it.
+     * @param subject The subject holding the list
+     * @param change Changes a copy of the list in place
+     * @return The new list
+     */
+    private static <T> List<T> updateList(PlainMutableSubject<List<T>> subject, Consumer<List<T>> change) {
+        while (true) {
+            Versioned<List<T>> current = subject.getVersioned();
+            List<T> updated = current.value() != null ? new ArrayList<>(current.value()) : new ArrayList<>();
+            change.accept(updated);
+            if (subject.postValueIfVersion(updated, current.version())) {
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Replace the list held by a subject, from any thread. Like {@link #updateList}, the new list
+     * is stored right away with a new version, so it is ordered with the other writes rather
+     * than landing later on top of them the way a pending postValue would.
+     * @param subject The subject holding the list
+     * @param list The new contents
+     * @return The new list
+     */
+    private static <T> List<T> replaceList(PlainMutableSubject<List<T>> subject, List<T> list) {
+        return updateList(subject, current -> {
+            current.clear();
+            current.addAll(list);
+        });
+    }
+
     /**
      * Load initial data from database
      */
@@ -150,22 +190,18 @@ public class HabitizerRepository {
                     }
                 }
                 
-                // Update observables on main thread
-                final List<Task> finalTasks = tasks;
-                final List<Routine> finalRoutines = routines;
-                mainHandler.post(() -> {
-                    Log.d(TAG, "Setting repository subjects with " + finalTasks.size() + 
-                          " tasks and " + finalRoutines.size() + " routines");
-                    
-                    tasksSubject.setValue(finalTasks);
-                    routinesSubject.setValue(finalRoutines);
-                    
-                    // Update LiveData
-                    tasksLiveData.setValue(finalTasks);
-                    routinesLiveData.setValue(finalRoutines);
-                    
-                    Log.d(TAG, "Initial data loaded for instance #" + instanceId);
-                });
+                // Publish to observables; applied on the main thread
+                Log.d(TAG, "Setting repository subjects with " + tasks.size() + 
+                      " tasks and " + routines.size() + " routines");
+                
+                replaceList(tasksSubject, tasks);
+                replaceList(routinesSubject, routines);
+                
+                // Update LiveData
+                tasksLiveData.postValue(tasks);
+                routinesLiveData.postValue(routines);
+                
+                Log.d(TAG, "Initial data loaded for instance #" + instanceId);
             } catch (Exception e) {
                 Log.e(TAG, "Error loading data from database", e);
             }
@@ -219,16 +255,9 @@ public class HabitizerRepository {
                 TaskEntity entity = TaskEntity.fromTask(task);
                 database.taskDao().insert(entity);
                 
-                // Update in-memory data
-                List<Task> currentTasks = new ArrayList<>(tasksSubject.getValue());
-                currentTasks.add(task);
-                
-                // Update observables on main thread
-                final List<Task> finalTasks = currentTasks;
-                mainHandler.post(() -> {
-                    tasksSubject.setValue(finalTasks);
-                    tasksLiveData.setValue(finalTasks);
-                });
+                // Update in-memory data; observers are notified on the main thread
+                List<Task> currentTasks = updateList(tasksSubject, tasks -> tasks.add(task));
+                tasksLiveData.postValue(currentTasks);
                 
                 Log.d(TAG, "Added task: " + task.getTaskName());
             } catch (Exception e) {
@@ -248,21 +277,16 @@ public class HabitizerRepository {
                 TaskEntity entity = TaskEntity.fromTask(task);
                 database.taskDao().insert(entity);
                 
-                // Update in-memory data
-                List<Task> currentTasks = new ArrayList<>(tasksSubject.getValue());
-                for (int i = 0; i < currentTasks.size(); i++) {
-                    if (currentTasks.get(i).getTaskId() == task.getTaskId()) {
-                        currentTasks.set(i, task);
-                        break;
+                // Update in-memory data; observers are notified on the main thread
+                List<Task> currentTasks = updateList(tasksSubject, tasks -> {
+                    for (int i = 0; i < tasks.size(); i++) {
+                        if (tasks.get(i).getTaskId() == task.getTaskId()) {
+                            tasks.set(i, task);
+                            break;
+                        }
                     }
-                }
-                
-                // Update observables on main thread
-                final List<Task> finalTasks = currentTasks;
-                mainHandler.post(() -> {
-                    tasksSubject.setValue(finalTasks);
-                    tasksLiveData.setValue(finalTasks);
                 });
+                tasksLiveData.postValue(currentTasks);
                 
                 Log.d(TAG, "Updated task: " + task.getTaskName());
             } catch (Exception e) {
@@ -281,21 +305,16 @@ public class HabitizerRepository {
                 // Delete from database
                 database.taskDao().delete(taskId);
                 
-                // Update in-memory data
-                List<Task> currentTasks = new ArrayList<>(tasksSubject.getValue());
-                for (int i = 0; i < currentTasks.size(); i++) {
-                    if (currentTasks.get(i).getTaskId() == taskId) {
-                        currentTasks.remove(i);
-                        break;
+                // Update in-memory data; observers are notified on the main thread
+                List<Task> currentTasks = updateList(tasksSubject, tasks -> {
+                    for (int i = 0; i < tasks.size(); i++) {
+                        if (tasks.get(i).getTaskId() == taskId) {
+                            tasks.remove(i);
+                            break;
+                        }
                     }
-                }
-                
-                // Update observables on main thread
-                final List<Task> finalTasks = currentTasks;
-                mainHandler.post(() -> {
-                    tasksSubject.setValue(finalTasks);
-                    tasksLiveData.setValue(finalTasks);
                 });
+                tasksLiveData.postValue(currentTasks);
                 
                 Log.d(TAG, "Deleted task with ID: " + taskId);
             } catch (Exception e) {
@@ -369,37 +388,27 @@ public class HabitizerRepository {
                     Log.d(TAG, "Added task " + taskEntity.getTaskName() + " to routine " + routineEntity.getRoutineName());
                 }
                 
-                // Update in-memory data
-                List<Routine> currentRoutines = new ArrayList<>();
-                List<Routine> existingRoutines = routinesSubject.getValue();
-                if (existingRoutines != null) {
-                    currentRoutines.addAll(existingRoutines);
-                }
-                
-                // Check if the routine already exists and update it instead of adding a duplicate
-                boolean routineExists = false;
-                for (int i = 0; i < currentRoutines.size(); i++) {
-                    if (currentRoutines.get(i).getRoutineId() == routine.getRoutineId()) {
-                        currentRoutines.set(i, routine);
-                        routineExists = true;
-                        Log.d(TAG, "Updated existing routine in list with ID: " + routine.getRoutineId());
-                        break;
+                // Update in-memory data; observers are notified on the main thread
+                List<Routine> currentRoutines = updateList(routinesSubject, routines -> {
+                    // Check if the routine already exists and update it instead of adding a duplicate
+                    boolean routineExists = false;
+                    for (int i = 0; i < routines.size(); i++) {
+                        if (routines.get(i).getRoutineId() == routine.getRoutineId()) {
+                            routines.set(i, routine);
+                            routineExists = true;
+                            Log.d(TAG, "Updated existing routine in list with ID: " + routine.getRoutineId());
+                            break;
+                        }
+                    }
+                    
+                    // Only add if it doesn't exist
+                    if (!routineExists) {
+                        routines.add(routine);
+                        Log.d(TAG, "Added new routine to list with ID: " + routine.getRoutineId());
                     }
-                }
-                
-                // Only add if it doesn't exist
-                if (!routineExists) {
-                    currentRoutines.add(routine);
-                    Log.d(TAG, "Added new routine to list with ID: " + routine.getRoutineId());
-                }
-                
-                // Update observables on main thread
-                final List<Routine> finalRoutines = currentRoutines;
-                mainHandler.post(() -> {
-                    routinesSubject.setValue(finalRoutines);
-                    routinesLiveData.setValue(finalRoutines);
-                    Log.d(TAG, "Updated observables with " + finalRoutines.size() + " routines");
                 });
+                routinesLiveData.postValue(currentRoutines);
+                Log.d(TAG, "Updated observables with " + currentRoutines.size() + " routines");
                 
                 Log.d(TAG, "Added routine: " + routine.getRoutineName() + " with " + tasks.size() + " tasks");
             } catch (Exception e) {
@@ -448,23 +457,18 @@ public class HabitizerRepository {
                     Log.d(TAG, "  Saved task position " + i + ": " + task.getTaskName() + " (ID: " + task.getTaskId() + ")");
                 }
                 
-                // Update in-memory data
-                List<Routine> currentRoutines = new ArrayList<>(routinesSubject.getValue());
-                for (int i = 0; i < currentRoutines.size(); i++) {
-                    if (currentRoutines.get(i).getRoutineId() == routine.getRoutineId()) {
-                        currentRoutines.set(i, routine);
-                        Log.d(TAG, "Updated in-memory routine at position " + i);
-                        break;
+                // Update in-memory data; observers are notified on the main thread
+                List<Routine> currentRoutines = updateList(routinesSubject, routines -> {
+                    for (int i = 0; i < routines.size(); i++) {
+                        if (routines.get(i).getRoutineId() == routine.getRoutineId()) {
+                            routines.set(i, routine);
+                            Log.d(TAG, "Updated in-memory routine at position " + i);
+                            break;
+                        }
                     }
-                }
-                
-                // Update observables on main thread
-                final List<Routine> finalRoutines = currentRoutines;
-                mainHandler.post(() -> {
-                    routinesSubject.setValue(finalRoutines);
-                    routinesLiveData.setValue(finalRoutines);
-                    Log.d(TAG, "Updated routine observables on main thread");
                 });
+                routinesLiveData.postValue(currentRoutines);
+                Log.d(TAG, "Posted updated routines to observables");
                 
                 Log.d(TAG, "Successfully updated routine: " + routine.getRoutineName() + " with " + tasks.size() + " tasks");
             } catch (Exception e) {
@@ -486,21 +490,16 @@ public class HabitizerRepository {
                 // Delete routine from database
                 database.routineDao().delete(routineId);
                 
-                // Update in-memory data
-                List<Routine> currentRoutines = new ArrayList<>(routinesSubject.getValue());
-                for (int i = 0; i < currentRoutines.size(); i++) {
-                    if (currentRoutines.get(i).getRoutineId() == routineId) {
-                        currentRoutines.remove(i);
-                        break;
+                // Update in-memory data; observers are notified on the main thread
+                List<Routine> currentRoutines = updateList(routinesSubject, routines -> {
+                    for (int i = 0; i < routines.size(); i++) {
+                        if (routines.get(i).getRoutineId() == routineId) {
+                            routines.remove(i);
+                            break;
+                        }
                     }
-                }
-                
-                // Update observables on main thread
-                final List<Routine> finalRoutines = currentRoutines;
-                mainHandler.post(() -> {
-                    routinesSubject.setValue(finalRoutines);
-                    routinesLiveData.setValue(finalRoutines);
                 });
+                routinesLiveData.postValue(currentRoutines);
                 
                 Log.d(TAG, "Deleted routine with ID: " + routineId);
             } catch (Exception e) {
@@ -527,21 +526,16 @@ public class HabitizerRepository {
                 if (routineWithTasks != null) {
                     Routine updatedRoutine = routineWithTasks.toRoutine();
                     
-                    // Update in-memory data
-                    List<Routine> currentRoutines = new ArrayList<>(routinesSubject.getValue());
-                    for (int i = 0; i < currentRoutines.size(); i++) {
-                        if (currentRoutines.get(i).getRoutineId() == routineId) {
-                            currentRoutines.set(i, updatedRoutine);
-                            break;
+                    // Update in-memory data; observers are notified on the main thread
+                    List<Routine> currentRoutines = updateList(routinesSubject, routines -> {
+                        for (int i = 0; i < routines.size(); i++) {
+                            if (routines.get(i).getRoutineId() == routineId) {
+                                routines.set(i, updatedRoutine);
+                                break;
+                            }
                         }
-                    }
-                    
-                    // Update observables on main thread
-                    final List<Routine> finalRoutines = currentRoutines;
-                    mainHandler.post(() -> {
-                        routinesSubject.setValue(finalRoutines);
-                        routinesLiveData.setValue(finalRoutines);
                     });
+                    routinesLiveData.postValue(currentRoutines);
                     
                     Log.d(TAG, "Updated routine after task removal. Routine now has " + 
                          updatedRoutine.getTasks().size() + " tasks");
@@ -600,18 +594,10 @@ public class HabitizerRepository {
                 
                 Log.d(TAG, "Final routine list contains " + routines.size() + " routines");
                 
-                // Update observables on main thread with a guaranteed UI update
-                final List<Routine> finalRoutines = routines;
-                mainHandler.post(() -> {
-                    // Update both subjects with the new data
-                    routinesSubject.setValue(finalRoutines);
-                    routinesLiveData.setValue(finalRoutines);
-                    Log.d(TAG, "Routines refreshed with " + finalRoutines.size() + " routines");
-                    
-                    // Force a sanity check - verify the values were actually set
-                    List<Routine> currentValue = routinesSubject.getValue();
-                    Log.d(TAG, "After refresh, subject contains " + (currentValue != null ? currentValue.size() : 0) + " routines");
-                });
+                // Publish to both observables; applied on the main thread
+                replaceList(routinesSubject, routines);
+                routinesLiveData.postValue(routines);
+                Log.d(TAG, "Routines refreshed with " + routines.size() + " routines");
             } catch (Exception e) {
                 Log.e(TAG, "Error refreshing routines", e);
             }
@@ -626,11 +612,9 @@ public class HabitizerRepository {
     public void setRoutines(List<Routine> routines) {
         Log.d(TAG, "Force updating repository with " + routines.size() + " routines");
         // Update in-memory subject and LiveData immediately for UI
-        mainHandler.post(() -> {
-            routinesLiveData.setValue(routines);
-            routinesSubject.setValue(routines);
-            Log.d(TAG, "In-memory routines updated with " + routines.size() + " routines");
-        });
+        routinesLiveData.postValue(routines);
+        replaceList(routinesSubject, routines);
+        Log.d(TAG, "In-memory routines posted with " + routines.size() + " routines");
         
         // Update database on background thread
         executor.execute(() -> {
@@ -28,11 +28,12 @@ import edu.ucsd.cse110.habitizer.lib.domain.Routine;
 import edu.ucsd.cse110.habitizer.lib.domain.Task;
 import edu.ucsd.cse110.habitizer.app.MainViewModel;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+
 import edu.ucsd.cse110.observables.Observer;
 
 
@@ -47,6 +48,8 @@ public class HomeScreenFragment extends Fragment {
     private static final int MAX_REFRESH_ATTEMPTS = 3; // Maximum number of refresh attempts
     private int refreshAttempts = 0; // Counter for refresh attempts
     private Handler refreshHandler = new Handler(Looper.getMainLooper());
+    // Routine updates are delivered on the main thread, latest value only
+    private final Executor mainExecutor = refreshHandler::post;
 
     public HomeScreenFragment() {
         // Required empty public constructor
@@ -96,7 +99,7 @@ public class HomeScreenFragment extends Fragment {
                             // Only start the timer for routines with tasks
                             Log.d(TAG, "Starting routine with tasks: " + routine.getRoutineName() + 
                                   " (" + routine.getTasks().size() + " tasks)");
-                            routine.startRoutine(LocalDateTime.now());
+                            routine.startRoutine(routine.now());
                         } else {
                             // For empty routines, we'll mark it as active but won't start the timer
                             // The timer will be started automatically when the first task is added
@@ -207,13 +210,10 @@ public class HomeScreenFragment extends Fragment {
                 
                 Log.d(TAG, "Added all " + this.routines.size() + " routines including duplicates");
                 
-                // Force UI update on main thread using our adapter instance
+                // The observer already runs on the main thread, so update the adapter directly
                 if (adapter != null) {
-                    new Handler(Looper.getMainLooper()).post(() -> {
-                        // Update the adapter
-                        adapter.notifyDataSetChanged();
-                        Log.d(TAG, "IMPORTANT: Adapter notified of data change with " + this.routines.size() + " routines");
-                    });
+                    adapter.notifyDataSetChanged();
+                    Log.d(TAG, "IMPORTANT: Adapter notified of data change with " + this.routines.size() + " routines");
                 } else {
                     Log.e(TAG, "ERROR: Adapter is null, cannot update UI!");
                 }
@@ -241,7 +241,7 @@ public class HomeScreenFragment extends Fragment {
         };
         
         // Observe changes to the list of routines
-        activityModel.getRoutineRepository().findAll().observe(routineObserver);
+        activityModel.getRoutineRepository().findAll().observe(mainExecutor, routineObserver);
         Log.d(TAG, "Registered new observer");
         
         return view;
@@ -267,7 +267,7 @@ public class HomeScreenFragment extends Fragment {
             if (routineObserver != null) {
                 Log.d(TAG, "Refreshing data after routine creation");
                 activityModel.getRoutineRepository().findAll().removeObserver(routineObserver);
-                activityModel.getRoutineRepository().findAll().observe(routineObserver);
+                activityModel.getRoutineRepository().findAll().observe(mainExecutor, routineObserver);
             }
             
             // If MainActivity is available, request a force refresh
@@ -353,7 +353,7 @@ public class HomeScreenFragment extends Fragment {
                         
                         // Remove and re-add the observer
                         activityModel.getRoutineRepository().findAll().removeObserver(routineObserver);
-                        activityModel.getRoutineRepository().findAll().observe(routineObserver);
+                        activityModel.getRoutineRepository().findAll().observe(mainExecutor, routineObserver);
                         
                         // If there's a MainActivity, ask it to help refresh
                         if (getActivity() instanceof MainActivity) {
@@ -418,7 +418,7 @@ public class HomeScreenFragment extends Fragment {
         if (routineObserver != null) {
             Log.d(TAG, "Removing and re-adding observer to refresh data");
             activityModel.getRoutineRepository().findAll().removeObserver(routineObserver);
-            activityModel.getRoutineRepository().findAll().observe(routineObserver);
+            activityModel.getRoutineRepository().findAll().observe(mainExecutor, routineObserver);
         }
         
         // If we have few routines, also try the schedule refresh mechanism
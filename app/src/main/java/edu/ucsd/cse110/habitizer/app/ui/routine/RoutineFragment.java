@@ -30,7 +30,13 @@ import edu.ucsd.cse110.habitizer.app.ui.dialog.CreateTaskDialogFragment;
 import edu.ucsd.cse110.habitizer.app.ui.dialog.SetRoutineTimeDialogFragment;
 import edu.ucsd.cse110.habitizer.lib.domain.Routine;
 import edu.ucsd.cse110.habitizer.lib.domain.Task;
+import edu.ucsd.cse110.habitizer.app.util.HandlerScheduler;
 import edu.ucsd.cse110.habitizer.app.util.RoutineStateManager;
+import edu.ucsd.cse110.observables.CompositeDisposable;
+import edu.ucsd.cse110.observables.Observer;
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+import edu.ucsd.cse110.observables.Subject;
+import edu.ucsd.cse110.observables.Transformations;
 
 public class RoutineFragment extends Fragment {
     private MainViewModel activityModel;
@@ -48,6 +54,8 @@ public class RoutineFragment extends Fragment {
 
     // Add a flag to prevent recursive updates
     private boolean isUpdatingFromObserver = false;
+    // Observers registered for the lifetime of the view, unregistered in onDestroyView
+    private final CompositeDisposable viewSubscriptions = new CompositeDisposable();
 
     private boolean manuallyStarted = false;
     
@@ -66,8 +74,17 @@ public class RoutineFragment extends Fragment {
     private int taskSecondsBeforePause = 0;
 
     private RoutineStateManager routineStateManager;
-    private Runnable stateSaveRunnable;
-    private static final int STATE_SAVE_INTERVAL_MS = 1000; // Save state every second
+    // Bumped whenever the state worth saving changes; saves are throttled to one per interval
+    private final PlainMutableSubject<Long> stateChanges = new PlainMutableSubject<>();
+    private long stateChangeCount = 0;
+    private Subject<Long> throttledStateChanges;
+    private final Observer<Long> stateSaver = changes -> {
+        // Only save state if we have a valid routine
+        if (currentRoutine != null) {
+            saveRoutineState();
+        }
+    };
+    private static final int STATE_SAVE_INTERVAL_MS = 1000; // Save state at most once a second
 
     public RoutineFragment() {
         // required empty public constructor
@@ -105,24 +122,23 @@ public class RoutineFragment extends Fragment {
             }
         };
         
-        // Initialize state saving runnable to save UI state every second
-        stateSaveRunnable = new Runnable() {
-            @Override
-            public void run() {
-                // Only save state if we have a valid routine
-                if (currentRoutine != null) {
-                    saveRoutineState();
-                }
-                
-                // Schedule the next state save
-                timerHandler.postDelayed(this, STATE_SAVE_INTERVAL_MS);
-            }
-        };
+        // Save state when it changes, at most once per interval, instead of on a fixed loop
+        throttledStateChanges = Transformations.throttleLatest(
+                stateChanges, STATE_SAVE_INTERVAL_MS, new HandlerScheduler(timerHandler));
         
         // Start the timer with the constant update interval
         timerHandler.post(timerRunnable);
     }
 
+    /**
+     * Note that the state to save has changed: a task was completed, the task list was edited, or
+     * the routine was started, paused, resumed or stopped. The save itself is throttled. The clock
+     * ticking is not a change; the live times are saved on pause, stop and {@link #onPause()}.
+     */
+    void markStateChanged() {
+        stateChanges.setValue(++stateChangeCount);
+    }
+
     public static RoutineFragment newInstance(int routineId) {
         RoutineFragment fragment = new RoutineFragment();
         Bundle args = new Bundle();
@@ -235,6 +251,9 @@ public class RoutineFragment extends Fragment {
             }
         }
 
+        // Record each run of the routine when it ends
+        currentRoutine.setRunHistory(activityModel.getRunHistory());
+
         Log.d("RoutineFragment", "Setting up routine with name: " + currentRoutine.getRoutineName());
         Log.d("RoutineFragment", "Current routine has " + currentRoutine.getTasks().size() + " tasks");
         
@@ -248,7 +267,7 @@ public class RoutineFragment extends Fragment {
         if (currentRoutine.isActive()) {
             Log.d("RoutineFragment", "Routine was already active, resetting it to ensure clean timer state");
             // End any existing routine first
-            currentRoutine.endRoutine(LocalDateTime.now());
+            currentRoutine.endRoutine(currentRoutine.now());
         }
         
         // Start fresh - set the proper routine initial state
@@ -256,7 +275,7 @@ public class RoutineFragment extends Fragment {
         if (!currentRoutine.getTasks().isEmpty() && currentRoutine.isActive()) {
             Log.d("RoutineFragment", "Starting routine with tasks: " + currentRoutine.getTasks().size());
             manuallyStarted = true;
-            currentRoutine.startRoutine(LocalDateTime.now());
+            currentRoutine.startRoutine(currentRoutine.now());
         } else if (currentRoutine.isActive()) {
             // For empty routines, still set manuallyStarted=true but don't start the timer
             Log.d("RoutineFragment", "Routine is active but empty, setting manuallyStarted without starting timer");
@@ -297,8 +316,9 @@ public class RoutineFragment extends Fragment {
 
         // Observe task data
         Log.d("RoutineFragment", "Setting up task observer");
-        var subject = activityModel.getRoutineRepository().find(currentRoutine.getRoutineId());
-        subject.observe(routine -> {
+        activityModel.selectRoutine(currentRoutine.getRoutineId());
+        var subject = activityModel.getSelectedRoutine();
+        viewSubscriptions.add(subject.subscribe(routine -> {
             // Skip if we're already updating or if routine is null
             if (isUpdatingFromObserver || routine == null) {
                 if (routine == null) {
@@ -336,7 +356,7 @@ public class RoutineFragment extends Fragment {
                 // Clear flag when done
                 isUpdatingFromObserver = false;
             }
-        });
+        }));
 
         binding.addTaskButton.setOnClickListener(v -> {
             CreateTaskDialogFragment dialog = CreateTaskDialogFragment.newInstance(this::addTaskToRoutine);
@@ -360,7 +380,7 @@ public class RoutineFragment extends Fragment {
                 
                 // Ensure routine is active
                 if (!currentRoutine.isActive()) {
-                    currentRoutine.startRoutine(LocalDateTime.now());
+                    currentRoutine.startRoutine(currentRoutine.now());
                 }
                 
                 // Update UI immediately
@@ -384,10 +404,11 @@ public class RoutineFragment extends Fragment {
                         Log.d("RoutineFragment", "Morning routine with ID 0 - not saving to prevent duplication");
                     }
                 }
+                markStateChanged();
             } else {
                 // Second press = end the routine
                 isTimerRunning = false;
-                currentRoutine.endRoutine(LocalDateTime.now());
+                currentRoutine.endRoutine(currentRoutine.now());
                 manuallyStarted = false;  // Reset the manually started flag when ending
                 
                 // Clear active status in SharedPreferences
@@ -450,12 +471,13 @@ public class RoutineFragment extends Fragment {
                     
                     // Pause at current simulated time, but don't affect the pause state
                     // This allows separate tracking of pause button vs stop timer button
-                    currentRoutine.pauseTime(LocalDateTime.now());
+                    currentRoutine.pauseTime(currentRoutine.now());
                     updateTimeDisplay();
                 }
                 
                 // We don't set isTimerRunning to false here to allow mockup testing
                 // even when the routine is paused
+                markStateChanged();
             } else {
                 // Second click - Advance Mock Timer functionality
                 
@@ -486,6 +508,7 @@ public class RoutineFragment extends Fragment {
                     
                     // Always update the task elapsed time to keep displays in sync
                     updateCurrentTaskElapsedTime();
+                    markStateChanged();
                 } else {
                     // In case routine is not active, show a log message
                     Log.d("RoutineFragment", "Advance Mock Timer button clicked but routine is not active - no action taken");
@@ -532,6 +555,7 @@ public class RoutineFragment extends Fragment {
                     if (taskAdapter != null) {
                         taskAdapter.notifyDataSetChanged();
                     }
+                    markStateChanged();
                     return;
                 }
                 
@@ -551,7 +575,7 @@ public class RoutineFragment extends Fragment {
                           "isStopTimerPressed: " + isStopTimerPressed);
                     
                     // Store current time for consistent updates
-                    LocalDateTime pauseTime = LocalDateTime.now();
+                    LocalDateTime pauseTime = currentRoutine.now();
                     currentRoutine.pauseTime(pauseTime);
                     
                     // Log the state after pausing
@@ -608,7 +632,7 @@ public class RoutineFragment extends Fragment {
                     // Normal resume behavior for real timer mode
                     
                     // Get current time for calculations
-                    LocalDateTime resumeTime = LocalDateTime.now();
+                    LocalDateTime resumeTime = currentRoutine.now();
                     
                     // If the current duration is 0 but we have a saved time, use that to adjust the start time
                     if (currentRoutine.getRoutineDurationMinutes() == 0 && timeBeforePauseMinutes > 0) {
@@ -659,6 +683,7 @@ public class RoutineFragment extends Fragment {
                     updateCurrentTaskElapsedTime();
                 }
             }
+            markStateChanged();
         });
 
         binding.homeButton.setOnClickListener(v -> {
@@ -708,7 +733,7 @@ public class RoutineFragment extends Fragment {
             // Only handle if the routine is still active (not ended)
             if (currentRoutine != null && currentRoutine.isActive()) {
                 // Calculate how long the app was in background (for logging)
-                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime now = currentRoutine.now();
                 long secondsInBackground = java.time.Duration.between(timeWhenMinimized, now).getSeconds();
                 Log.d("RoutineFragment", "App was in background for " + secondsInBackground + " seconds");
                 
@@ -733,10 +758,9 @@ public class RoutineFragment extends Fragment {
             timerHandler.post(timerRunnable);
         }
         
-        // Start the state saving runnable with 1 second interval
-        timerHandler.removeCallbacks(stateSaveRunnable); // Remove any existing callbacks first
-        timerHandler.post(stateSaveRunnable);
-        Log.d("RoutineFragment", "Started routine state saving runnable with " + STATE_SAVE_INTERVAL_MS + "ms interval");
+        // Start saving state on changes (saves right away if anything changed before)
+        throttledStateChanges.observe(stateSaver);
+        Log.d("RoutineFragment", "Started routine state saving, at most every " + STATE_SAVE_INTERVAL_MS + "ms");
     }
 
     @Override
@@ -750,7 +774,7 @@ public class RoutineFragment extends Fragment {
             
             // Save current state
             wasTimerRunningBeforeMinimize = isTimerRunning;
-            timeWhenMinimized = LocalDateTime.now();
+            timeWhenMinimized = currentRoutine.now();
             
             // Pause the timer but don't update UI yet (will update in onResume)
             currentRoutine.pauseTime(timeWhenMinimized);
@@ -761,8 +785,8 @@ public class RoutineFragment extends Fragment {
             saveRoutineState();
         }
         
-        // Remove any pending state save runnables
-        timerHandler.removeCallbacks(stateSaveRunnable);
+        // Stop saving on changes; this also cancels any pending throttled save
+        throttledStateChanges.removeObserver(stateSaver);
     }
 
     private void addTaskToRoutine(String taskName) {
@@ -793,7 +817,7 @@ public class RoutineFragment extends Fragment {
             // If this was the first task added to an empty routine, start the timer
             if (wasEmpty) {
                 Log.d("RoutineFragment", "First task added to empty routine - starting timer");
-                currentRoutine.startRoutine(LocalDateTime.now());
+                currentRoutine.startRoutine(currentRoutine.now());
                 
                 // Update the UI to reflect that the timer has started
                 updateTimeDisplay();
@@ -837,6 +861,7 @@ public class RoutineFragment extends Fragment {
 
         // Manually call updateTimeDisplay to ensure button states are updated
         updateTimeDisplay();
+        markStateChanged();
     }
 
     private void updateRoutineGoalDisplay(@Nullable Integer newTime) {
@@ -919,7 +944,7 @@ public class RoutineFragment extends Fragment {
             // If it has tasks but isn't active, activate it unless explicitly ended
             if (!binding.endRoutineButton.getText().toString().equals("Routine Ended")) {
                 Log.d("RoutineFragment", "Auto-activating routine that has tasks and is manually started");
-                currentRoutine.startRoutine(LocalDateTime.now());
+                currentRoutine.startRoutine(currentRoutine.now());
                 
                 // Update task elapsed time to show correct starting values
                 updateCurrentTaskElapsedTime();
@@ -981,7 +1006,8 @@ public class RoutineFragment extends Fragment {
     public void onDestroyView() {
         super.onDestroyView();
         timerHandler.removeCallbacks(timerRunnable);
-        timerHandler.removeCallbacks(stateSaveRunnable);
+        throttledStateChanges.removeObserver(stateSaver);
+        viewSubscriptions.clear();
     }
 
     // Helper method to compare routines
@@ -1135,8 +1161,8 @@ public class RoutineFragment extends Fragment {
             }
         }
         
-        // If not found, try to find first unchecked task
-        if (currentTask == null) {
+        // If not found, try to find first unchecked task (there is none once all are checked off)
+        if (currentTask == null && !currentRoutine.getTaskTotals().allCheckedOff()) {
             for (Task task : tasks) {
                 if (!task.isCheckedOff()) {
                     currentTask = task;
@@ -1238,7 +1264,7 @@ public class RoutineFragment extends Fragment {
         
         // Calculate elapsed time based on timer state
         LocalDateTime now = currentRoutine.getCurrentTime();
-        LocalDateTime currentDateTime = LocalDateTime.now();
+        LocalDateTime currentDateTime = currentRoutine.now();
         
         Log.d(TAG, "Current routine time: " + now);
         Log.d(TAG, "Current wall time: " + currentDateTime);
@@ -1304,13 +1330,7 @@ public class RoutineFragment extends Fragment {
         
         // Update the text view with the final result
         binding.currentTaskElapsedTime.setText("Elapsed time of the current task: " + timeDisplay);
-        
-        // Save the current task elapsed time for potential app restarts
-        if (routineStateManager != null && (System.currentTimeMillis() % 10 == 0)) {
-            // Only save occasionally to reduce overhead (roughly every 10 seconds)
-            saveRoutineState();
-            Log.d(TAG, "Saved routine state with current task elapsed time");
-        }
+        // The live task time is saved on pause, stop and onPause, not on every refresh
     }
 
     /**
@@ -1381,11 +1401,11 @@ public class RoutineFragment extends Fragment {
             // In mock mode, use the current routine time if available
             now = currentRoutine.getCurrentTime();
             if (now == null) {
-                now = LocalDateTime.now();
+                now = currentRoutine.now();
             }
             Log.d(TAG, "Using current routine time for mock mode: " + now);
         } else {
-            now = LocalDateTime.now();
+            now = currentRoutine.now();
             Log.d(TAG, "Using current wall time for calculation: " + now);
         }
         
@@ -1473,12 +1493,12 @@ public class RoutineFragment extends Fragment {
                 // Ensure the routine knows it's paused (check safely for isTimerStopped)
                 try {
                     if (!currentRoutine.isTimerStopped()) {
-                        currentRoutine.pauseTime(LocalDateTime.now());
+                        currentRoutine.pauseTime(currentRoutine.now());
                         Log.d("RoutineFragment", "Updated pause time in routine during saveRoutineState");
                     }
                 } catch (Exception e) {
                     // If method doesn't exist or another error occurs, just pause anyway
-                    currentRoutine.pauseTime(LocalDateTime.now());
+                    currentRoutine.pauseTime(currentRoutine.now());
                     Log.e("RoutineFragment", "Error checking timer stopped state: " + e.getMessage());
                 }
             }
@@ -1560,7 +1580,7 @@ public class RoutineFragment extends Fragment {
                 isStopTimerPressed = false;
                 
                 // Save the current time for the pause
-                LocalDateTime pauseTime = LocalDateTime.now();
+                LocalDateTime pauseTime = currentRoutine.now();
                 currentRoutine.pauseTime(pauseTime);
                 
                 // Restore goal time if available
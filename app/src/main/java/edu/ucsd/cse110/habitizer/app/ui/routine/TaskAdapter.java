@@ -34,9 +34,12 @@ import edu.ucsd.cse110.habitizer.app.data.db.RoutineTaskCrossRef;
 import edu.ucsd.cse110.habitizer.app.ui.dialog.RenameTaskDialogFragment;
 import edu.ucsd.cse110.habitizer.lib.domain.Routine;
 import edu.ucsd.cse110.habitizer.lib.domain.Task;
+import edu.ucsd.cse110.observables.ListChange;
 
 public class TaskAdapter extends ArrayAdapter<Task> {
     private final Routine routine;
+    // The list the adapter shows, handed to ArrayAdapter; changes are replayed on it directly
+    private final List<Task> shownTasks;
     private final LegacyLogicAdapter dataSource;
     private final FragmentManager fragmentManager;
     private RoutineFragment routineFragment;
@@ -55,6 +58,7 @@ public class TaskAdapter extends ArrayAdapter<Task> {
     public TaskAdapter(Context context, int resource, List<Task> tasks,
                        Routine routine, LegacyLogicAdapter dataSource, @Nullable FragmentManager fragmentManager) {
         super(context, resource, tasks);
+        this.shownTasks = tasks;
         this.routine = routine;
         this.dataSource = dataSource;
         this.fragmentManager = fragmentManager;
@@ -282,6 +286,7 @@ public class TaskAdapter extends ArrayAdapter<Task> {
         
         // Refresh entire list for consistent display
         notifyDataSetChanged();
+        if (routineFragment != null) routineFragment.markStateChanged();
 
         Log.d("TaskCompletion",
                 "Completed: " + task.getTaskName() +
@@ -295,6 +300,7 @@ public class TaskAdapter extends ArrayAdapter<Task> {
         task.setTaskName(newName);
         dataSource.putRoutine(routine);
         notifyDataSetChanged();
+        if (routineFragment != null) routineFragment.markStateChanged();
     }
     private void moveTaskUp(Task task) {
         List<Task> tasks = routine.getTasks();
@@ -307,18 +313,14 @@ public class TaskAdapter extends ArrayAdapter<Task> {
         // Log the state before moving
         Log.d("TaskAdapter", "Before moveTaskUp: Task list = " + tasks);
         
-        // Perform the move operation
-        routine.moveTaskUp(task);
+        // Perform the move operation, keeping track of what it changed
+        List<ListChange<Task>> changes = routine.getTasks().recordChanges(() -> routine.moveTaskUp(task));
         
         // Log the state after moving
         Log.d("TaskAdapter", "After moveTaskUp: Task list = " + routine.getTasks());
         
-        // Update the adapter's task list
-        clear();
-        addAll(tasks);
-        
-        // Update the UI
-        notifyDataSetChanged();
+        // Update the adapter's task list and the UI
+        applyTaskChanges(changes);
         
         // Force immediate sync update to database for testing reliability
         try {
@@ -377,7 +379,7 @@ public class TaskAdapter extends ArrayAdapter<Task> {
             }
         }
         
-        routine.moveTaskDown(task);
+        List<ListChange<Task>> changes = routine.getTasks().recordChanges(() -> routine.moveTaskDown(task));
         
         // Log final task order after move
         List<Task> updatedTasks = routine.getTasks();
@@ -404,12 +406,8 @@ public class TaskAdapter extends ArrayAdapter<Task> {
             Log.d("TaskAdapter", "MOVE VERIFICATION - Position 3: " + pos3Task.getTaskName() + " (ID: " + pos3Task.getTaskId() + ")");
         }
         
-        // Update the adapter's task list
-        clear();
-        addAll(updatedTasks);
-        
-        // Update the UI
-        notifyDataSetChanged();
+        // Update the adapter's task list and the UI
+        applyTaskChanges(changes);
         
         // CRITICAL: Force direct synchronous update to database
         try {
@@ -541,6 +539,25 @@ public class TaskAdapter extends ArrayAdapter<Task> {
         super.addAll(collection);
     }
 
+    /**
+     * Replay changes made to the routine's task list on the adapter's own copy, by position,
+     * instead of clearing and re-adding every task, then redraw once. Going by position keeps
+     * the right copy when a task is in the routine more than once.
+     * @param changes The changes, in the order they were made
+     */
+    private void applyTaskChanges(List<ListChange<Task>> changes) {
+        for (ListChange<Task> change : changes) change.applyTo(shownTasks);
+
+        // Fall back to a full rebuild if the adapter had drifted from the routine
+        if (!shownTasks.equals(routine.getTasks())) {
+            Log.w("TaskAdapter", "Adapter out of sync with routine, rebuilding task list");
+            shownTasks.clear();
+            shownTasks.addAll(routine.getTasks());
+        }
+        notifyDataSetChanged();
+        if (routineFragment != null) routineFragment.markStateChanged();
+    }
+
     /**
      * Remove a task from the routine
      * @param task The task to remove
@@ -554,7 +571,9 @@ public class TaskAdapter extends ArrayAdapter<Task> {
         Log.d("TaskAdapter", "Removing task: " + task.getTaskName() + " (ID: " + task.getTaskId() + ")");
         
         // Remove task from the routine
-        boolean removed = routine.removeTask(task);
+        boolean[] result = new boolean[1];
+        List<ListChange<Task>> changes = routine.getTasks().recordChanges(() -> result[0] = routine.removeTask(task));
+        boolean removed = result[0];
         
         if (removed) {
             // Use the database method to properly update relationships
@@ -568,9 +587,7 @@ public class TaskAdapter extends ArrayAdapter<Task> {
             }
             
             // Update the adapter
-            clear();
-            addAll(routine.getTasks());
-            notifyDataSetChanged();
+            applyTaskChanges(changes);
             
             Log.d("TaskAdapter", "Task removed successfully, now " + routine.getTasks().size() + " tasks in routine");
         } else {
@@ -0,0 +1,24 @@
+package edu.ucsd.cse110.habitizer.app.util;
+
+import android.os.SystemClock;
+
+import java.time.LocalDateTime;
+
+import edu.ucsd.cse110.habitizer.lib.domain.timer.TimeSource;
+
+/**
+ * Time source for routines on Android. Unlike System.nanoTime(), elapsedRealtimeNanos() keeps
+ * counting while the device is asleep, so a routine left running with the screen off is timed
+ * correctly.
+ */
+public class ElapsedRealtimeTimeSource implements TimeSource {
+    @Override
+    public long nanoTime() {
+        return SystemClock.elapsedRealtimeNanos();
+    }
+
+    @Override
+    public LocalDateTime wallClock() {
+        return LocalDateTime.now();
+    }
+}
@@ -0,0 +1,28 @@
+package edu.ucsd.cse110.habitizer.app.util;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+
+import edu.ucsd.cse110.observables.Scheduler;
+
+/**
+ * Scheduler that runs tasks on a Handler's thread (usually the main thread), for the
+ * time-based transformations in the observables library.
+ */
+public class HandlerScheduler implements Scheduler {
+    private final Handler handler;
+
+    public HandlerScheduler(@NonNull Handler handler) {
+        this.handler = handler;
+    }
+
+    @NonNull
+    @Override
+    public Cancellable schedule(@NonNull Runnable task, long delayMillis) {
+        // Wrap the task so cancelling only removes this scheduling of it
+        Runnable scheduled = task::run;
+        handler.postDelayed(scheduled, Math.max(0, delayMillis));
+        return () -> handler.removeCallbacks(scheduled);
+    }
+}
@@ -0,0 +1,28 @@
+plugins {
+    id("java-library")
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    // Benchmarks only ever run on the JVM, so they can depend on the
+    // plain Java modules directly.
+    implementation(project(":observables"))
+    implementation(project(":lib"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // Report allocation rate (gc.alloc.rate.norm, bytes/op) next to ns/op.
+    profilers.add("gc")
+    benchmarkMode.add("avgt")
+    timeUnit.set("ns")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,89 @@
+package edu.ucsd.cse110.habitizer.lib.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+
+import edu.ucsd.cse110.habitizer.lib.domain.Routine;
+import edu.ucsd.cse110.habitizer.lib.domain.Task;
+
+/**
+ * Looks up, completes and reorders the tasks of a routine of the given size, always working on
+ * the last task so a linear scan would be at its slowest. {@link #scanByName} is the stream
+ * lookup completeTask used to do, for comparison.
+ * <p>
+ * Routine logs a lot to standard output, which is silenced while measuring.
+ */
+@State(Scope.Thread)
+public class RoutineTaskBenchmark {
+    @Param({"10", "100", "1000"})
+    int size;
+
+    Routine routine;
+    Task last;
+    String lastName;
+    PrintStream stdout;
+    boolean up;
+
+    @Setup
+    public void setUp() {
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        routine = new Routine(1, "Benchmark");
+        for (int i = 0; i < size; i++) routine.addTask(new Task(i, "Task " + i, false));
+        last = routine.getTasks().get(size - 1);
+        lastName = last.getTaskName();
+        routine.startRoutine(LocalDateTime.of(2025, 2, 1, 8, 0, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public Task scanByName() {
+        return routine.getTasks().stream()
+                .filter(t -> t.getTaskName().equals(lastName))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public boolean completeByName() {
+        routine.completeTask(lastName);
+        return last.isCompleted();
+    }
+
+    @Benchmark
+    public boolean completeById() {
+        routine.completeTask(size - 1);
+        return last.isCompleted();
+    }
+
+    // Moves the last task up a place and back down, alternately.
+    @Benchmark
+    public Task moveByOne() {
+        up = !up;
+        if (up) {
+            routine.moveTaskUp(last);
+        } else {
+            routine.moveTaskDown(last);
+        }
+        return routine.getTasks().get(size - 1);
+    }
+
+    // Moves the first task to the end, the worst case for keeping positions up to date.
+    @Benchmark
+    public Task moveFirstToLast() {
+        routine.moveTask(0, size - 1);
+        return routine.getTasks().get(0);
+    }
+}
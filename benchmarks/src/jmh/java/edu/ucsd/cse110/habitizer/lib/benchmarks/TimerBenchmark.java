@@ -0,0 +1,63 @@
+package edu.ucsd.cse110.habitizer.lib.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+
+import edu.ucsd.cse110.habitizer.lib.domain.timer.MonotonicClock;
+import edu.ucsd.cse110.habitizer.lib.domain.timer.RoutineTimer;
+import edu.ucsd.cse110.habitizer.lib.domain.timer.TaskTimer;
+
+/**
+ * The elapsed-time reads the UI makes every tick. Run with {@code -prof gc}: the reads that take
+ * the current time in nanos shouldn't allocate at all. {@link #currentMinutesAt} goes through a
+ * LocalDateTime, for comparison.
+ */
+@State(Scope.Thread)
+public class TimerBenchmark {
+    static final LocalDateTime START = LocalDateTime.of(2025, 2, 1, 8, 0, 0);
+
+    MonotonicClock clock = MonotonicClock.getDefault();
+    RoutineTimer running = new RoutineTimer(clock);
+    RoutineTimer ended = new RoutineTimer(clock);
+    TaskTimer task = new TaskTimer(clock);
+    LocalDateTime at;
+
+    @Setup
+    public void setUp() {
+        running.start(START);
+        ended.start(START);
+        ended.end(START.plusMinutes(42).plusSeconds(17));
+        task.start(START);
+        task.end(START.plusSeconds(95));
+        at = START.plusMinutes(7);
+    }
+
+    @Benchmark
+    public long currentSeconds() {
+        return running.getCurrentSeconds(clock.nowNanos());
+    }
+
+    @Benchmark
+    public int liveMinutes() {
+        return running.getLiveMinutes(false, null);
+    }
+
+    @Benchmark
+    public int currentMinutesAt() {
+        return running.getCurrentMinutes(at);
+    }
+
+    @Benchmark
+    public int elapsedMinutes() {
+        return ended.getElapsedMinutes();
+    }
+
+    @Benchmark
+    public int taskElapsedSeconds() {
+        return task.getElapsedSeconds();
+    }
+}
@@ -0,0 +1,47 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+import edu.ucsd.cse110.observables.Subject;
+import edu.ucsd.cse110.observables.Transformations;
+
+/**
+ * Measures one change to a subject that fans out to {@code width} mapped subjects, which are
+ * then combined again into a single result (a "diamond" of the given width).
+ */
+@State(Scope.Thread)
+public class CombineDiamondBenchmark {
+    @Param({"2", "10", "100"})
+    int width;
+
+    PlainMutableSubject<Integer> source;
+    Subject<Integer> combined;
+    int next;
+
+    @Setup
+    public void setUp() {
+        source = new PlainMutableSubject<>(0);
+        List<Subject<Integer>> branches = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            int offset = i;
+            branches.add(Transformations.map(source, value -> value + offset));
+        }
+        combined = Transformations.combine(branches,
+                (List<Integer> values) -> values.stream().mapToInt(Integer::intValue).sum());
+        combined.observe(value -> { });
+    }
+
+    @Benchmark
+    public Integer propagate() {
+        source.setValue(next++ & 1023);
+        return combined.getValue();
+    }
+}
@@ -0,0 +1,94 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import edu.ucsd.cse110.observables.Observer;
+import edu.ucsd.cse110.observables.PlainMediatorSubject;
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+import edu.ucsd.cse110.observables.Subject;
+import edu.ucsd.cse110.observables.Transformations;
+
+/**
+ * Throughput (ops/s) of the core subject operations while other threads hammer the same
+ * subjects, one JMH group per operation mix. Each group reports a score per operation, so a
+ * regression in one of the concurrent collections shows up as a drop in its own row.
+ * <p>
+ * The correctness side of the same mixes (nothing lost, duplicated or left connected) is
+ * checked by {@code ConcurrencyTests}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConcurrentMixBenchmark {
+    PlainMutableSubject<Integer> subject;
+    Subject<Integer> derived;
+    PlainMediatorSubject<Integer> mediator;
+    int value = 0;
+
+    @Setup
+    public void setUp() {
+        subject = new PlainMutableSubject<>(0);
+        for (int i = 0; i < 8; i++) subject.observe(v -> { });
+        derived = Transformations.map(subject, v -> v + 1);
+        mediator = new PlainMediatorSubject<>();
+        mediator.observe(v -> { });
+    }
+
+    // Each thread churns its own observer / source.
+    @State(Scope.Thread)
+    public static class Local {
+        final Observer<Integer> observer = v -> { };
+        final PlainMutableSubject<Integer> source = new PlainMutableSubject<>(0);
+    }
+
+    /** Writers racing observers joining and leaving. */
+    @Benchmark
+    @Group("setAndChurn")
+    @GroupThreads(2)
+    public void setValue() {
+        subject.setValue(value++);
+    }
+
+    @Benchmark
+    @Group("setAndChurn")
+    @GroupThreads(2)
+    public void observeAndRemove(Local local) {
+        subject.observe(local.observer);
+        subject.removeObserver(local.observer);
+    }
+
+    /** Writers racing a derived subject connecting and disconnecting as it gains and loses observers. */
+    @Benchmark
+    @Group("setAndConnect")
+    @GroupThreads(2)
+    public void setSource() {
+        subject.setValue(value++);
+    }
+
+    @Benchmark
+    @Group("setAndConnect")
+    @GroupThreads(2)
+    public void connectAndDisconnect(Local local) {
+        derived.observe(local.observer);
+        derived.removeObserver(local.observer);
+    }
+
+    /** Sources added to and removed from one observed mediator from several threads. */
+    @Benchmark
+    @Group("sources")
+    @GroupThreads(4)
+    public void addAndRemoveSource(Local local) {
+        mediator.addSource(local.source, mediator::setValue);
+        mediator.removeSource(local.source);
+    }
+}
@@ -0,0 +1,64 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Flow;
+
+import edu.ucsd.cse110.observables.Flows;
+import edu.ucsd.cse110.observables.OverflowPolicy;
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+
+/**
+ * A tick source publishing much faster than its subscriber consumes: the subscriber only asks
+ * for one value every 64 ticks. Whatever the policy, the per-subscriber backlog stays bounded, so
+ * the cost per tick should stay flat instead of growing with the run.
+ */
+@State(Scope.Thread)
+public class FlowBridgeBenchmark {
+    @Param({"latest", "drop", "buffer16"})
+    String policy;
+
+    PlainMutableSubject<Long> ticks;
+    Flow.Subscription subscription;
+    long tick = 0;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        ticks = new PlainMutableSubject<>(0L);
+        var overflow = switch (policy) {
+            case "latest" -> OverflowPolicy.latest();
+            case "drop" -> OverflowPolicy.drop();
+            default -> OverflowPolicy.buffer(16);
+        };
+        Flows.toPublisher(ticks, overflow).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                FlowBridgeBenchmark.this.subscription = subscription;
+            }
+
+            @Override
+            public void onNext(Long item) {
+                blackhole.consume(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+    }
+
+    @Benchmark
+    public void tick() {
+        ticks.setValue(tick++);
+        if ((tick & 63) == 0) subscription.request(1);
+    }
+}
@@ -0,0 +1,80 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import edu.ucsd.cse110.observables.ListChange;
+import edu.ucsd.cse110.observables.ObservableList;
+
+/**
+ * Keeps a mirror (think adapter copy) of a large list in sync after one element is moved by one
+ * place, the way reordering a task works: either by replaying the {@link ListChange} events, by
+ * re-diffing the whole list against the mirror, or by clearing and re-adding everything.
+ */
+@State(Scope.Thread)
+public class ListChangeBenchmark {
+    @Param({"10000"})
+    int size;
+
+    ObservableList<Integer> list;
+    List<Integer> mirror;
+    List<ListChange<Integer>> changes = new ArrayList<>();
+    int next;
+
+    @Setup
+    public void setUp() {
+        list = new ObservableList<>();
+        for (int i = 0; i < size; i++) list.add(i);
+        mirror = new ArrayList<>(list);
+        list.observeChanges(changes::add);
+    }
+
+    private void moveOne() {
+        int from = next++ % (size - 1);
+        list.move(from, from + 1);
+    }
+
+    @Benchmark
+    public List<Integer> applyEvents() {
+        moveOne();
+        for (var change : changes) change.applyTo(mirror);
+        changes.clear();
+        return mirror;
+    }
+
+    @Benchmark
+    public List<Integer> fullRediff() {
+        moveOne();
+        changes.clear();
+        // Trim the common prefix and suffix, then replace whatever differs in between.
+        int start = 0;
+        while (start < mirror.size() && Objects.equals(mirror.get(start), list.get(start))) start++;
+        int endMirror = mirror.size();
+        int endList = list.size();
+        while (endMirror > start && endList > start
+                && Objects.equals(mirror.get(endMirror - 1), list.get(endList - 1))) {
+            endMirror--;
+            endList--;
+        }
+        var window = mirror.subList(start, endMirror);
+        window.clear();
+        window.addAll(list.subList(start, endList));
+        return mirror;
+    }
+
+    @Benchmark
+    public List<Integer> rebuild() {
+        moveOne();
+        changes.clear();
+        mirror.clear();
+        mirror.addAll(list);
+        return mirror;
+    }
+}
@@ -0,0 +1,42 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+import edu.ucsd.cse110.observables.Subject;
+import edu.ucsd.cse110.observables.Transformations;
+
+/**
+ * Measures propagation of a value through a linear chain of {@link Transformations#map} calls.
+ */
+@State(Scope.Thread)
+public class MapChainBenchmark {
+    @Param({"1", "10", "100"})
+    int depth;
+
+    PlainMutableSubject<Integer> source;
+    Subject<Integer> leaf;
+    int next;
+
+    @Setup
+    public void setUp() {
+        source = new PlainMutableSubject<>(0);
+        Subject<Integer> current = source;
+        for (int i = 0; i < depth; i++) {
+            current = Transformations.map(current, value -> value + 1);
+        }
+        leaf = current;
+        // Keep the chain observed, as the UI would.
+        leaf.observe(value -> { });
+    }
+
+    @Benchmark
+    public Integer propagate() {
+        source.setValue(next++ & 1023);
+        return leaf.getValue();
+    }
+}
@@ -0,0 +1,46 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ucsd.cse110.observables.PlainMediatorSubject;
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+
+/**
+ * Measures {@link PlainMediatorSubject#addSource} followed by
+ * {@link PlainMediatorSubject#removeSource} while the mediator already holds a number of other
+ * sources.
+ */
+@State(Scope.Thread)
+public class MediatorChurnBenchmark {
+    @Param({"1", "10", "100"})
+    int sources;
+
+    PlainMediatorSubject<Integer> mediator;
+    PlainMutableSubject<Integer> churned;
+
+    @Setup
+    public void setUp() {
+        mediator = new PlainMediatorSubject<>();
+        List<PlainMutableSubject<Integer>> resident = new ArrayList<>();
+        for (int i = 0; i < sources; i++) {
+            var source = new PlainMutableSubject<>(i);
+            resident.add(source);
+            mediator.addSource(source, mediator::setValue);
+        }
+        churned = new PlainMutableSubject<>(-1);
+        mediator.observe(value -> { });
+    }
+
+    @Benchmark
+    public void addRemove() {
+        mediator.addSource(churned, mediator::setValue);
+        mediator.removeSource(churned);
+    }
+}
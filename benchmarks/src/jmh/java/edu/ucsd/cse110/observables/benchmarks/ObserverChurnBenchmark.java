@@ -0,0 +1,53 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import edu.ucsd.cse110.observables.Observer;
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+
+/**
+ * Measures removing and re-adding one observer while many others stay registered, the pattern
+ * the home screen uses on every refresh.
+ * <p>
+ * {@link #linearQueue} reproduces the previous {@code ConcurrentLinkedQueue} registry
+ * ({@code contains} + {@code add}, then {@code removeIf}) as a baseline for {@link #subject}.
+ */
+@State(Scope.Thread)
+public class ObserverChurnBenchmark {
+    @Param({"10", "100", "1000"})
+    int observers;
+
+    PlainMutableSubject<Integer> subject;
+    ConcurrentLinkedQueue<Observer<Integer>> queue;
+    Observer<Integer> churned;
+
+    @Setup
+    public void setUp() {
+        subject = new PlainMutableSubject<>();
+        queue = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < observers; i++) {
+            Observer<Integer> observer = value -> { };
+            subject.observe(observer);
+            queue.add(observer);
+        }
+        churned = value -> { };
+    }
+
+    @Benchmark
+    public void subject() {
+        subject.observe(churned);
+        subject.removeObserver(churned);
+    }
+
+    @Benchmark
+    public void linearQueue() {
+        if (!queue.contains(churned)) queue.add(churned);
+        queue.removeIf(o -> o.equals(churned));
+    }
+}
@@ -0,0 +1,39 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.ucsd.cse110.observables.LongSubject;
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+
+/**
+ * Compares publishing a changing elapsed-seconds counter through a boxed
+ * {@code PlainMutableSubject<Long>} and through a {@link LongSubject}.
+ */
+@State(Scope.Thread)
+public class PrimitiveSubjectBenchmark {
+    PlainMutableSubject<Long> boxed;
+    LongSubject primitive;
+    long seconds = 1_000;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        boxed = new PlainMutableSubject<>(0L);
+        boxed.observe(value -> blackhole.consume(value));
+        primitive = new LongSubject(0L);
+        primitive.observe(value -> blackhole.consume(value));
+    }
+
+    @Benchmark
+    public void boxedTick() {
+        boxed.setValue(seconds++);
+    }
+
+    @Benchmark
+    public void primitiveTick() {
+        primitive.setValue(seconds++);
+    }
+}
@@ -0,0 +1,37 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+
+/**
+ * Measures the cost of a single {@link PlainMutableSubject#setValue} as the number of
+ * registered observers grows.
+ */
+@State(Scope.Thread)
+public class SubjectFanOutBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    int observers;
+
+    PlainMutableSubject<Integer> subject;
+    int next;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        subject = new PlainMutableSubject<>(0);
+        for (int i = 0; i < observers; i++) {
+            // Each lambda is a distinct instance, so none are de-duplicated.
+            subject.observe(value -> blackhole.consume(value));
+        }
+    }
+
+    @Benchmark
+    public void setValue() {
+        subject.setValue(next++ & 1023);
+    }
+}
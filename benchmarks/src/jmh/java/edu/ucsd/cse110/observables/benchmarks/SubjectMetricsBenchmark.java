@@ -0,0 +1,44 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+import edu.ucsd.cse110.observables.RecordingSubjectMetrics;
+import edu.ucsd.cse110.observables.Subjects;
+
+/**
+ * Cost of {@code setValue} on an observed subject without metrics and with
+ * {@link RecordingSubjectMetrics} installed. Run with {@code -prof gc} to check that recording
+ * doesn't allocate.
+ */
+@State(Scope.Thread)
+public class SubjectMetricsBenchmark {
+    @Param({"false", "true"})
+    boolean recording;
+
+    PlainMutableSubject<Integer> subject;
+    int next;
+
+    @Setup
+    public void setUp() {
+        Subjects.setMetrics(recording ? new RecordingSubjectMetrics() : null);
+        subject = new PlainMutableSubject<>(0);
+        subject.observe(value -> { });
+        subject.setValue(-1); // create the subject's stats outside the measurement
+    }
+
+    @TearDown
+    public void tearDown() {
+        Subjects.setMetrics(null);
+    }
+
+    @Benchmark
+    public void setValue() {
+        subject.setValue(next++ & 1023);
+    }
+}
@@ -0,0 +1,77 @@
+package edu.ucsd.cse110.observables.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.ucsd.cse110.observables.PlainMutableSubject;
+import edu.ucsd.cse110.observables.Subject;
+import edu.ucsd.cse110.observables.Transformations;
+
+/**
+ * Measures {@link Transformations#switchMap} when the trigger flips between two sources, which
+ * tears down one inner subscription and sets up another on every change.
+ * <p>
+ * {@link #flipRebuilt} and {@link #flipCached} flip between lookups that build a derived subject
+ * per trigger value (like a per-routine lookup), without and with the cached variant.
+ */
+@State(Scope.Thread)
+public class SwitchMapBenchmark {
+    PlainMutableSubject<Boolean> trigger;
+    PlainMutableSubject<Boolean> rebuiltTrigger;
+    PlainMutableSubject<Boolean> cachedTrigger;
+    PlainMutableSubject<String> left;
+    PlainMutableSubject<String> right;
+    Subject<String> output;
+    Subject<Integer> rebuilt;
+    Subject<Integer> cached;
+    boolean flag;
+
+    @Setup
+    public void setUp() {
+        trigger = new PlainMutableSubject<>(false);
+        left = new PlainMutableSubject<>("left");
+        right = new PlainMutableSubject<>("right");
+        output = Transformations.switchMap(trigger, b -> b ? right : left);
+        output.observe(value -> { });
+
+        rebuiltTrigger = new PlainMutableSubject<>(false);
+        rebuilt = Transformations.switchMap(rebuiltTrigger, this::lookup);
+        rebuilt.observe(value -> { });
+        cachedTrigger = new PlainMutableSubject<>(false);
+        cached = Transformations.switchMap(cachedTrigger, this::lookup, 4);
+        cached.observe(value -> { });
+    }
+
+    private Subject<Integer> lookup(boolean b) {
+        return Transformations.map(b ? right : left, String::length);
+    }
+
+    @Benchmark
+    public String flip() {
+        flag = !flag;
+        trigger.setValue(flag);
+        return output.getValue();
+    }
+
+    @Benchmark
+    public Integer flipRebuilt() {
+        flag = !flag;
+        rebuiltTrigger.setValue(flag);
+        return rebuilt.getValue();
+    }
+
+    @Benchmark
+    public Integer flipCached() {
+        flag = !flag;
+        cachedTrigger.setValue(flag);
+        return cached.getValue();
+    }
+
+    @Benchmark
+    public String sameSource() {
+        trigger.setValue(flag);
+        return output.getValue();
+    }
+}
@@ -3,30 +3,30 @@ package edu.ucsd.cse110.habitizer.lib.data;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.MatchResult;
 
 import edu.ucsd.cse110.habitizer.lib.domain.Routine;
 import edu.ucsd.cse110.habitizer.lib.domain.Task;
+import edu.ucsd.cse110.observables.ObservableMap;
 import edu.ucsd.cse110.observables.Observer;
-import edu.ucsd.cse110.observables.PlainMediatorSubject;
-import edu.ucsd.cse110.observables.PlainMutableSubject;
 import edu.ucsd.cse110.observables.Subject;
+import edu.ucsd.cse110.observables.Subjects;
+import edu.ucsd.cse110.observables.Transformations;
 import edu.ucsd.cse110.habitizer.lib.domain.timer.RoutineTimer;
 
 public class InMemoryDataSource {
 
     // Observers for routines
-    private final Map<Integer, Routine> routines = new HashMap<>();
-    private final Map<Integer, PlainMutableSubject<Routine>> routineSubjects = new HashMap<>();
-    private final PlainMutableSubject<List<Routine>> allRoutinesSubjects = new PlainMediatorSubject<>();
+    private final ObservableMap<Integer, Routine> routines = new ObservableMap<>();
+    private final Subject<List<Routine>> allRoutinesSubjects =
+            Transformations.map(routines.asSubject(), InMemoryDataSource::valuesOf);
 
     // Observers for tasks
-    private final Map<Integer, Task> tasks = new HashMap<>();
-    private final Map<Integer, PlainMutableSubject<Task>> taskSubjects = new HashMap<>();
-    private final PlainMutableSubject<List<Task>> allTasksSubjects = new PlainMutableSubject<>();
+    private final ObservableMap<Integer, Task> tasks = new ObservableMap<>();
+    private final Subject<List<Task>> allTasksSubjects =
+            Transformations.map(tasks.asSubject(), InMemoryDataSource::valuesOf);
 
     public final static List<Task> DEFAULT_MORNING = List.of(
             new Task(0, "Shower", false),
@@ -77,7 +77,7 @@ public class InMemoryDataSource {
 
     // Routine Functions
     public List<Routine> getRoutines() {
-        return List.copyOf(routines.values());
+        return valuesOf(routines.snapshot());
     }
 
     public Routine getRoutine(int id) {
@@ -85,12 +85,7 @@ public class InMemoryDataSource {
     }
 
     public Subject<Routine> getRoutineSubject(int id) {
-        if (!routineSubjects.containsKey(id)) {
-            var subject = new PlainMutableSubject<Routine>();
-            subject.setValue(getRoutine(id));
-            routineSubjects.put(id, subject);
-        }
-        return routineSubjects.get(id);
+        return routines.subject(id);
     }
 
     public Subject<List<Routine>> getAllRoutinesSubject() {
@@ -98,22 +93,22 @@ public class InMemoryDataSource {
     }
 
     public void putRoutine(Routine routine) {
-        routines.put(routine.getRoutineId(), routine);
-        if (routineSubjects.containsKey(routine.getRoutineId())) {
-            routineSubjects.get(routine.getRoutineId()).setValue(routine);
-        }
-        allRoutinesSubjects.setValue(getRoutines());
-
-        List<Task> tasks = routine.getTasks();
-        for (Task task : tasks) {
-            putTask(task);
-        }
+        // Coalesce the routine update and one task update per task into a single
+        // notification per subject
+        Subjects.batch(() -> {
+            routines.put(routine.getRoutineId(), routine);
+
+            List<Task> tasks = routine.getTasks();
+            for (Task task : tasks) {
+                putTask(task);
+            }
+        });
     }
 
 
     // Task Functions
     public List<Task> getTasks() {
-        return List.copyOf(tasks.values());
+        return valuesOf(tasks.snapshot());
     }
 
     public Task getTask(int id) {
@@ -121,12 +116,7 @@ public class InMemoryDataSource {
     }
 
     public Subject<Task> getTaskSubject(int id) {
-        if (!taskSubjects.containsKey(id)) {
-            var subject = new PlainMutableSubject<Task>();
-            subject.setValue(getTask(id));
-            taskSubjects.put(id, subject);
-        }
-        return taskSubjects.get(id);
+        return tasks.subject(id);
     }
 
     public Subject<List<Task>> getAllTasksSubject() {
@@ -135,13 +125,13 @@ public class InMemoryDataSource {
 
     public void putTask(Task task) {
         tasks.put(task.getTaskId(), task);
-        if (taskSubjects.containsKey(task.getTaskId())) {
-            taskSubjects.get(task.getTaskId()).setValue(task);
-        }
-        allTasksSubjects.setValue(getTasks());
     }
 
     public int getRoutineCount() {
         return routines.size();
     }
-}
\ No newline at end of file
+
+    private static <V> List<V> valuesOf(Map<Integer, V> snapshot) {
+        return List.copyOf(snapshot.values());
+    }
+}
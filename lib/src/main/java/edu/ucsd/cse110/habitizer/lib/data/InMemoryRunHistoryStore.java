@@ -0,0 +1,94 @@
+package edu.ucsd.cse110.habitizer.lib.data;
+
+import androidx.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ucsd.cse110.habitizer.lib.domain.RoutineRun;
+import edu.ucsd.cse110.habitizer.lib.domain.RunHistoryStore;
+
+/**
+ * {@link RunHistoryStore} that keeps the runs in memory.
+ * <p>
+ * Each routine's runs are kept sorted by start time. Runs normally arrive in that order, so
+ * appending is O(1); a date range is found by binary search, in O(log n) plus the runs in it,
+ * however many years of runs there are.
+ */
+public class InMemoryRunHistoryStore implements RunHistoryStore {
+    private final Map<Integer, List<RoutineRun>> runsByRoutine = new HashMap<>();
+    private int count = 0;
+
+    @Override
+    public synchronized void append(RoutineRun run) {
+        if (run.routineId() == null) {
+            throw new IllegalArgumentException("Run of a routine without an ID: " + run.routineName());
+        }
+        var runs = runsByRoutine.computeIfAbsent(run.routineId(), id -> new ArrayList<>());
+        if (runs.isEmpty() || !runs.get(runs.size() - 1).startTime().isAfter(run.startTime())) {
+            runs.add(run);
+        } else {
+            // Out of order, e.g. imported: after the runs that started no later
+            runs.add(indexAfter(runs, run.startTime()), run);
+        }
+        count++;
+    }
+
+    @Override
+    public synchronized List<RoutineRun> findRuns(int routineId, LocalDate from, LocalDate to) {
+        var runs = runsByRoutine.get(routineId);
+        if (runs == null || to.isBefore(from)) return List.of();
+        int start = indexFrom(runs, from.atStartOfDay());
+        int end = indexFrom(runs, to.plusDays(1).atStartOfDay());
+        return List.copyOf(runs.subList(start, end));
+    }
+
+    @Override
+    public synchronized List<RoutineRun> findRuns(int routineId) {
+        var runs = runsByRoutine.get(routineId);
+        return runs == null ? List.of() : List.copyOf(runs);
+    }
+
+    @Override
+    public synchronized @Nullable RoutineRun latest(int routineId) {
+        var runs = runsByRoutine.get(routineId);
+        return runs == null ? null : runs.get(runs.size() - 1);
+    }
+
+    @Override
+    public synchronized int count() {
+        return count;
+    }
+
+    // The first run that started at or after the time
+    private static int indexFrom(List<RoutineRun> runs, LocalDateTime time) {
+        int low = 0, high = runs.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (runs.get(mid).startTime().isBefore(time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // The first run that started after the time
+    private static int indexAfter(List<RoutineRun> runs, LocalDateTime time) {
+        int low = 0, high = runs.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (runs.get(mid).startTime().isAfter(time)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
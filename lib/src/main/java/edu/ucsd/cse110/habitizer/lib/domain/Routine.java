@@ -2,36 +2,111 @@ package edu.ucsd.cse110.habitizer.lib.domain;
 
 import androidx.annotation.Nullable;
 
+import edu.ucsd.cse110.habitizer.lib.domain.timer.MonotonicClock;
 import edu.ucsd.cse110.habitizer.lib.domain.timer.RoutineTimer;
 import edu.ucsd.cse110.habitizer.lib.domain.timer.TaskTimer;
+import edu.ucsd.cse110.habitizer.lib.domain.timer.TimeSource;
 import edu.ucsd.cse110.habitizer.lib.domain.timer.Timer;
-
+import edu.ucsd.cse110.habitizer.lib.util.Logger;
+import edu.ucsd.cse110.observables.ObservableList;
+import edu.ucsd.cse110.observables.ObservableMap;
+import edu.ucsd.cse110.observables.Subject;
+import edu.ucsd.cse110.observables.Transformations;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashSet;
+import java.util.function.Consumer;
 
 public class Routine implements Serializable {
+    private static final String TAG = "Routine";
+
     private final @Nullable Integer id;
     private final String routineName;
-    private final List<Task> tasks = new ArrayList<>();
-    private final RoutineTimer routineTimer = new RoutineTimer();
-    private final TaskTimer taskTimer = new TaskTimer();
+    private final ObservableList<Task> tasks = new ObservableList<>();
+    // Where the routine and its timers get the time from, see now()
+    private final MonotonicClock clock;
+    private final RoutineTimer routineTimer;
+    private final TaskTimer taskTimer;
     private @Nullable Integer goalTime;
 
-    private LocalDateTime currentTime = LocalDateTime.now();
+    private LocalDateTime currentTime;
     private boolean timerStopped;
+
+    // Where finished runs are recorded, see setRunHistory()
+    private transient @Nullable RunHistoryStore runHistory;
+
+    // Positions of the tasks and the tasks by id and name, so lookups don't scan the list
+    private final TaskIndex taskIndex = new TaskIndex(tasks);
+
+    // What each task contributes to the totals, and the totals kept up to date from it. Both
+    // belong to the routine, so the totals stay attached to the map for as long as it lives
+    private final ObservableMap<Task, TaskTotals> taskProgress = new ObservableMap<>();
+    private final Consumer<Task> taskListener = this::taskChanged;
+    private final Subject<TaskTotals> taskTotals = Transformations.scanKeyed(
+            taskProgress, TaskTotals.ZERO, TaskTotals::plus, TaskTotals::minus);
+
+    {
+        // Follow the task list, however it is changed, and each task in it
+        tasks.observeChanges(change -> {
+            if (change == null) return;
+            taskIndex.apply(change);
+            switch (change.kind()) {
+                case INSERT -> change.items().forEach(this::track);
+                case REMOVE -> change.items().forEach(this::untrack);
+                case CHANGE -> {
+                    change.items().forEach(this::track);
+                    // The replaced tasks aren't part of the change; drop them if they are gone
+                    if (taskProgress.size() > tasks.size()) {
+                        var current = new HashSet<>(tasks);
+                        for (var task : taskProgress.snapshot().keySet()) {
+                            if (!current.contains(task)) untrack(task);
+                        }
+                    }
+                }
+                case MOVE -> { }
+            }
+        });
+    }
 //    LocalDateTime time1 = LocalDateTime.of(2025, 2, 1, 8, 0, 0); // 8:00:00 AM, 02/01/2025
 //    LocalDateTime time2 = LocalDateTime.of(2025, 2, 1, 8, 30, 15); // 8:30:15 AM, 02/01/2025
 
     public Routine(@Nullable Integer id, String routineName) {
+        this(id, routineName, MonotonicClock.getDefault());
+    }
+
+    /**
+     * Create a routine that gets the time from the given source, e.g. a
+     * {@link edu.ucsd.cse110.habitizer.lib.domain.timer.ManualTimeSource} in tests
+     */
+    public Routine(@Nullable Integer id, String routineName, TimeSource timeSource) {
+        this(id, routineName, new MonotonicClock(timeSource));
+    }
+
+    private Routine(@Nullable Integer id, String routineName, MonotonicClock clock) {
         this.id = id;
         this.routineName = routineName;
+        this.clock = clock;
+        this.routineTimer = new RoutineTimer(clock);
+        this.taskTimer = new TaskTimer(clock);
+        this.currentTime = clock.now();
         this.goalTime = null;
         timerStopped = false;
     }
 
+    /**
+     * The current time for this routine. Use it rather than the wall clock for anything passed
+     * back to the routine (start, end, pause times), so elapsed times aren't thrown off when the
+     * wall clock is changed.
+     * @return The current time, which never jumps
+     */
+    public LocalDateTime now() {
+        return clock.now();
+    }
+
     // Start the routine
     public void startRoutine(LocalDateTime startTime) {
         // Make sure to end any possibly running timers
@@ -52,12 +127,14 @@ public class Routine implements Serializable {
     // End the routine
     public void endRoutine(LocalDateTime endTime) {
         // Add debug log
-        System.out.println("Ending routine at: " + endTime + 
+        Logger.d(TAG, () -> "Ending routine at: " + endTime +
                           ", routine was active for: " + 
                           (routineTimer.getStartTime() != null ? 
                            java.time.Duration.between(routineTimer.getStartTime(), endTime).getSeconds() / 60.0 : 
                            "unknown") + " minutes");
         
+        boolean wasRunning = routineTimer.isRunning();
+
         // If the timer was stopped, ignore the actual system time and use
         // our adjusted time
         if (timerStopped) {
@@ -71,6 +148,17 @@ public class Routine implements Serializable {
         if (routineTimer.isRunning()) {
             routineTimer.end(endTime);
         }
+
+        if (wasRunning && !routineTimer.isRunning()) recordRun();
+    }
+
+    // Add the run that just ended to the history, if there is one
+    private void recordRun() {
+        if (runHistory == null || id == null) return;
+        var taskRuns = new ArrayList<TaskRun>(tasks.size());
+        for (Task task : tasks) taskRuns.add(TaskRun.of(task));
+        runHistory.append(new RoutineRun(id, routineName, routineTimer.getStartTime(),
+                routineTimer.getEndTime(), routineTimer.getElapsedMinutes(), goalTime, taskRuns));
     }
 
     private void markSkippedTasks() {
@@ -96,31 +184,51 @@ public class Routine implements Serializable {
     // Add the task
     public void addTask(Task task) {
         tasks.add(task);
-        System.out.println("Habitizer-Tasks: Task added to " + routineName + ": " + task.getTaskName() + 
+        Logger.d(TAG, () -> "Habitizer-Tasks: Task added to " + routineName + ": " + task.getTaskName() + 
                           " (ID: " + task.getTaskId() + "), tasks list now has " + tasks.size() + " items");
     }
 
 
     // End the task
     public void completeTask(String taskName) {
-        Task task = tasks.stream()
-                .filter(t -> t.getTaskName().equals(taskName))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Task not found: " + taskName));
-        
+        Task task = taskIndex.byName(taskName);
+        if (task == null) {
+            throw new IllegalArgumentException("Task not found: " + taskName);
+        }
+        completeTask(task);
+    }
+
+    /**
+     * End the first task with the given ID
+     * @param taskId The ID of the task
+     * @throws IllegalArgumentException if there is no task with that ID
+     */
+    public void completeTask(int taskId) {
+        Task task = taskIndex.byId(taskId);
+        if (task == null) {
+            throw new IllegalArgumentException("Task not found: " + taskId);
+        }
+        completeTask(task);
+    }
+
+    private void completeTask(Task task) {
+        String taskName = task.getTaskName();
+
         // Get the current time for consistency
-        LocalDateTime endTimeForTask = timerStopped ? currentTime : LocalDateTime.now();
+        LocalDateTime endTimeForTask = timerStopped ? currentTime : clock.now();
         
         // DEBUG: Add more detailed logging about timer state
-        System.out.println("===== TASK COMPLETION DETAILS =====");
-        System.out.println("Completing task: '" + taskName + "'");
-        System.out.println("Current wall time: " + LocalDateTime.now());
-        System.out.println("Time used for calculations: " + endTimeForTask);
-        System.out.println("Routine timer start: " + routineTimer.getStartTime());
-        System.out.println("Routine timer active: " + routineTimer.isActive());
-        System.out.println("Task timer start: " + taskTimer.getStartTime());
-        System.out.println("Task timer running: " + taskTimer.isRunning());
-        System.out.println("timerStopped flag: " + timerStopped);
+        if (Logger.isLoggable(Logger.Level.DEBUG)) {
+            Logger.d(TAG, "===== TASK COMPLETION DETAILS =====");
+            Logger.d(TAG, "Completing task: '" + taskName + "'");
+            Logger.d(TAG, "Current wall time: " + clock.getTimeSource().wallClock());
+            Logger.d(TAG, "Time used for calculations: " + endTimeForTask);
+            Logger.d(TAG, "Routine timer start: " + routineTimer.getStartTime());
+            Logger.d(TAG, "Routine timer active: " + routineTimer.isActive());
+            Logger.d(TAG, "Task timer start: " + taskTimer.getStartTime());
+            Logger.d(TAG, "Task timer running: " + taskTimer.isRunning());
+            Logger.d(TAG, "timerStopped flag: " + timerStopped);
+        }
         
         // Ensure TaskTimer is properly initialized
         if (taskTimer.getStartTime() == null || !taskTimer.isRunning()) {
@@ -128,7 +236,7 @@ public class Routine implements Serializable {
             LocalDateTime startTime = routineTimer.getStartTime();
             if (startTime == null) {
                 // If RoutineTimer is also not initialized, use current time
-                startTime = LocalDateTime.now().minusSeconds(1); // Ensure at least 1 second
+                startTime = clock.now().minusSeconds(1); // Ensure at least 1 second
             }
             taskTimer.start(startTime);
         }
@@ -140,20 +248,22 @@ public class Routine implements Serializable {
         int elapsedSeconds = taskTimer.getElapsedSeconds();
         int elapsedMinutes = taskTimer.getElapsedMinutes();
         
-        // Calculate raw duration for debugging
-        double rawMinutes = 0;
-        if (taskTimer.getStartTime() != null && taskTimer.getEndTime() != null) {
-            long durationSeconds = java.time.Duration.between(taskTimer.getStartTime(), taskTimer.getEndTime()).getSeconds();
-            rawMinutes = durationSeconds / 60.0;
+        if (Logger.isLoggable(Logger.Level.DEBUG)) {
+            // Calculate raw duration for debugging
+            double rawMinutes = 0;
+            if (taskTimer.getStartTime() != null && taskTimer.getEndTime() != null) {
+                long durationSeconds = java.time.Duration.between(taskTimer.getStartTime(), taskTimer.getEndTime()).getSeconds();
+                rawMinutes = durationSeconds / 60.0;
+            }
+
+            Logger.d(TAG, "Task duration calculation:");
+            Logger.d(TAG, "- Start time: " + taskTimer.getStartTime());
+            Logger.d(TAG, "- End time: " + taskTimer.getEndTime());
+            Logger.d(TAG, "- Raw duration: " + rawMinutes + " minutes");
+            Logger.d(TAG, "- Rounded duration: " + elapsedMinutes + " minutes");
+            Logger.d(TAG, "- Elapsed seconds: " + elapsedSeconds + " seconds");
         }
         
-        System.out.println("Task duration calculation:");
-        System.out.println("- Start time: " + taskTimer.getStartTime());
-        System.out.println("- End time: " + taskTimer.getEndTime());
-        System.out.println("- Raw duration: " + rawMinutes + " minutes");
-        System.out.println("- Rounded duration: " + elapsedMinutes + " minutes");
-        System.out.println("- Elapsed seconds: " + elapsedSeconds + " seconds");
-        
         // Store task duration in minutes for compatibility
         task.setDurationAndComplete(elapsedMinutes);
         
@@ -164,22 +274,17 @@ public class Routine implements Serializable {
         // Start timer for next task automatically
         taskTimer.start(endTimeForTask);
         
-        System.out.println("Completed task: " + taskName + " in " + elapsedMinutes + " minutes");
+        Logger.d(TAG, () -> "Completed task: " + taskName + " in " + elapsedMinutes + " minutes");
     }
 
 
     // Auto completes routine when everything is checked off
     public boolean autoCompleteRoutine() {
-        boolean allCompleted = true;
-        for (Task task : tasks) {
-            if (!task.isCheckedOff()) {
-                allCompleted = false;
-            }
-        }
+        boolean allCompleted = getTaskTotals().allCheckedOff();
 
-        if (allCompleted && tasks.size() > 0) {
+        if (allCompleted) {
             // End the routine when all tasks are completed
-            endRoutine(LocalDateTime.now());
+            endRoutine(clock.now());
             
             // Mark any unchecked tasks as skipped (though there shouldn't be any)
             for (Task task : tasks) {
@@ -188,7 +293,27 @@ public class Routine implements Serializable {
                 }
             }
         }
-        return allCompleted && tasks.size() > 0;
+        return allCompleted;
+    }
+
+    private void track(Task task) {
+        // A task can be in several routines; each one listens for itself
+        if (taskProgress.containsKey(task)) return;
+        task.addChangeListener(taskListener);
+        taskProgress.put(task, TaskTotals.of(task));
+    }
+
+    private void taskChanged(Task task) {
+        taskIndex.taskChanged(task);
+        var totals = TaskTotals.of(task);
+        if (!totals.equals(taskProgress.get(task))) taskProgress.put(task, totals);
+    }
+
+    private void untrack(Task task) {
+        // Another copy of the task may still be in the list
+        if (taskIndex.positionOf(task) != -1) return;
+        task.removeChangeListener(taskListener);
+        taskProgress.remove(task);
     }
 
     public void updateGoalTime(@Nullable Integer goalTime) {
@@ -218,11 +343,11 @@ public class Routine implements Serializable {
         if (timerStopped) {
             // Update the start times of both timers to account for the time the app was in background
             if (routineTimer.isActive()) {
-                routineTimer.updateStartTime(routineTimer.getStartTime().plusSeconds(secondsDifference));
+                routineTimer.shiftStart(secondsDifference * 1_000_000_000L);
             }
             
             if (taskTimer.isRunning()) {
-                taskTimer.updateStartTime(taskTimer.getStartTime().plusSeconds(secondsDifference));
+                taskTimer.shiftStart(secondsDifference * 1_000_000_000L);
             }
             
             // Update current time to the resume time
@@ -235,8 +360,8 @@ public class Routine implements Serializable {
     public void fastForwardTime() {
         // If timer is still running, update the start time of task and routine to mimic fast-forward
         if (!timerStopped) {
-            routineTimer.updateStartTime(routineTimer.getStartTime().minusSeconds(15));
-            taskTimer.updateStartTime(taskTimer.getStartTime().minusSeconds(15));
+            routineTimer.shiftStart(-15 * 1_000_000_000L);
+            taskTimer.shiftStart(-15 * 1_000_000_000L);
         }
         // If timer not running, then we "fast forward" time by 15 seconds
         else {
@@ -245,45 +370,55 @@ public class Routine implements Serializable {
     }
 
     public void moveTaskUp(Task task) {
-        if (tasks.size() == 1 || tasks.indexOf(task) == 0) {
-            System.out.println("TASK_SWAP: Cannot move task up - already at top or single task: " + task.getTaskName());
+        int i = taskIndex.positionOf(task);
+        if (tasks.size() == 1 || i == 0) {
+            Logger.d(TAG, () -> "TASK_SWAP: Cannot move task up - already at top or single task: " + task.getTaskName());
             return;
         }
-        int i = tasks.indexOf(task);
         
         // Log before swap
-        System.out.println("TASK_SWAP: Moving task UP - Before swap: Position " + i + 
+        Logger.d(TAG, () -> "TASK_SWAP: Moving task UP - Before swap: Position " + i + 
                            ", Task: " + task.getTaskName() + 
                            ", Above task: " + tasks.get(i-1).getTaskName());
         
-        Collections.swap(tasks, i, i-1);
+        tasks.move(i, i-1);
         
         // Log after swap
-        System.out.println("TASK_SWAP: After swap: Position " + (i-1) + 
+        Logger.d(TAG, () -> "TASK_SWAP: After swap: Position " + (i-1) + 
                            ", Task: " + tasks.get(i-1).getTaskName() + 
                            ", Below task: " + tasks.get(i).getTaskName());
     }
 
     public void moveTaskDown(Task task) {
-        if(tasks.size() == 1 || tasks.indexOf(task) == tasks.size()-1) {
-            System.out.println("TASK_SWAP: Cannot move task down - already at bottom or single task: " + task.getTaskName());
+        int i = taskIndex.positionOf(task);
+        if(tasks.size() == 1 || i == tasks.size()-1) {
+            Logger.d(TAG, () -> "TASK_SWAP: Cannot move task down - already at bottom or single task: " + task.getTaskName());
             return;
         }
-        int i = tasks.indexOf(task);
         
         // Log before swap
-        System.out.println("TASK_SWAP: Moving task DOWN - Before swap: Position " + i + 
+        Logger.d(TAG, () -> "TASK_SWAP: Moving task DOWN - Before swap: Position " + i + 
                            ", Task: " + task.getTaskName() + 
                            ", Below task: " + tasks.get(i+1).getTaskName());
         
-        Collections.swap(tasks, i, i+1);
+        tasks.move(i, i+1);
         
         // Log after swap
-        System.out.println("TASK_SWAP: After swap: Position " + (i+1) + 
+        Logger.d(TAG, () -> "TASK_SWAP: After swap: Position " + (i+1) + 
                            ", Task: " + tasks.get(i+1).getTaskName() + 
                            ", Above task: " + tasks.get(i).getTaskName());
     }
 
+    /**
+     * Move a task to another position, shifting the tasks in between by one
+     * @param fromIndex The current position of the task
+     * @param toIndex The position to move it to
+     * @throws IndexOutOfBoundsException if either position is out of range
+     */
+    public void moveTask(int fromIndex, int toIndex) {
+        tasks.move(fromIndex, toIndex);
+    }
+
     /**
      * Remove a task from the routine
      * @param task The task to remove
@@ -291,19 +426,19 @@ public class Routine implements Serializable {
      */
     public boolean removeTask(Task task) {
         if (task == null) {
-            System.out.println("TASK_REMOVE: Cannot remove null task");
+            Logger.w(TAG, "TASK_REMOVE: Cannot remove null task");
             return false;
         }
         
-        int index = tasks.indexOf(task);
+        int index = taskIndex.positionOf(task);
         
         if (index == -1) {
-            System.out.println("TASK_REMOVE: Task not found in routine: " + task.getTaskName());
+            Logger.w(TAG, () -> "TASK_REMOVE: Task not found in routine: " + task.getTaskName());
             return false;
         }
         
         Task removedTask = tasks.remove(index);
-        System.out.println("TASK_REMOVE: Task removed from " + routineName + ": " + 
+        Logger.d(TAG, () -> "TASK_REMOVE: Task removed from " + routineName + ": " + 
                           removedTask.getTaskName() + " (ID: " + removedTask.getTaskId() + 
                           "), tasks list now has " + tasks.size() + " items");
         return true;
@@ -319,7 +454,7 @@ public class Routine implements Serializable {
     }
     public Integer getRoutineId() { return id; }
 
-    public List<Task> getTasks() {
+    public ObservableList<Task> getTasks() {
         return tasks;
     }
 
@@ -331,6 +466,19 @@ public class Routine implements Serializable {
         return taskTimer;
     }
 
+    /**
+     * @return Running totals over the tasks (how many are checked off, time spent, ...), updated
+     * as tasks change instead of being recounted
+     */
+    public Subject<TaskTotals> getTaskTotalsSubject() {
+        return taskTotals;
+    }
+
+    public TaskTotals getTaskTotals() {
+        var totals = taskTotals.getValue();
+        return totals != null ? totals : TaskTotals.ZERO;
+    }
+
     public LocalDateTime getCurrentTime() {
         return currentTime;
     }
@@ -339,6 +487,18 @@ public class Routine implements Serializable {
         return goalTime;
     }
 
+    /**
+     * Record each run of this routine in the given store when it ends, see {@link RoutineRun}.
+     * @param runHistory The store, or null to stop recording
+     */
+    public void setRunHistory(@Nullable RunHistoryStore runHistory) {
+        this.runHistory = runHistory;
+    }
+
+    public @Nullable RunHistoryStore getRunHistory() {
+        return runHistory;
+    }
+
     /**
      * Check if the timer is stopped
      * @return true if the timer is stopped
@@ -357,17 +517,55 @@ public class Routine implements Serializable {
     public void setIsActiveWithoutStartingTimer(boolean isActive) {
         if (isActive) {
             // Just set the current time without starting the timers
-            currentTime = LocalDateTime.now();
+            currentTime = clock.now();
             timerStopped = false;
             
             // We intentionally don't call routineTimer.start() or taskTimer.start()
             // because we don't want to start timers for empty routines
-            System.out.println("Routine " + routineName + " marked as active without starting timer");
+            Logger.d(TAG, () -> "Routine " + routineName + " marked as active without starting timer");
         } else {
             // If setting to inactive, mark as stopped
             timerStopped = true;
-            System.out.println("Routine " + routineName + " marked as inactive");
+            Logger.d(TAG, () -> "Routine " + routineName + " marked as inactive");
         }
     }
 
-}
\ No newline at end of file
+    /*
+     * Serialization: the tasks, lists and subjects the routine is built from aren't serializable,
+     * and are rebuilt by the constructor anyway, so a routine is written as its state alone and
+     * read back into a new routine (on the default clock, without a run history).
+     */
+
+    private Object writeReplace() {
+        return new SerializedForm(id, routineName, new ArrayList<>(tasks), goalTime,
+                routineTimer.getStartTime(), routineTimer.getEndTime(),
+                taskTimer.getStartTime(), taskTimer.getEndTime(), currentTime, timerStopped);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Routines are read through their serialized form");
+    }
+
+    private record SerializedForm(@Nullable Integer id, String routineName, ArrayList<Task> tasks,
+                                  @Nullable Integer goalTime,
+                                  @Nullable LocalDateTime routineStart, @Nullable LocalDateTime routineEnd,
+                                  @Nullable LocalDateTime taskStart, @Nullable LocalDateTime taskEnd,
+                                  LocalDateTime currentTime, boolean timerStopped) implements Serializable {
+        private Object readResolve() {
+            var routine = new Routine(id, routineName);
+            routine.tasks.addAll(tasks);
+            routine.goalTime = goalTime;
+            restore(routine.routineTimer, routineStart, routineEnd);
+            restore(routine.taskTimer, taskStart, taskEnd);
+            routine.currentTime = currentTime;
+            routine.timerStopped = timerStopped;
+            return routine;
+        }
+
+        private static void restore(Timer timer, @Nullable LocalDateTime start, @Nullable LocalDateTime end) {
+            if (start == null) return;
+            timer.start(start);
+            if (end != null) timer.end(end);
+        }
+    }
+}
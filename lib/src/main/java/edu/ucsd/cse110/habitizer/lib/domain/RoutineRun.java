@@ -0,0 +1,35 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import androidx.annotation.Nullable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One finished run of a routine, recorded when it ends (see {@link Routine#setRunHistory}).
+ * Unlike the routine's tasks, which are reset for the next run, runs don't change once recorded.
+ *
+ * @param routineId      ID of the routine
+ * @param routineName    Name of the routine at the time
+ * @param startTime      When the run started, moved later by any time it was paused
+ * @param endTime        When the run ended
+ * @param elapsedMinutes Time the run took, in minutes as shown to the user
+ * @param goalTime       The routine's goal time at the time, in minutes, if it had one
+ * @param tasks          How each task went, in the routine's order
+ */
+public record RoutineRun(@Nullable Integer routineId, String routineName, LocalDateTime startTime,
+                         LocalDateTime endTime, int elapsedMinutes, @Nullable Integer goalTime,
+                         List<TaskRun> tasks) implements Serializable {
+    public RoutineRun {
+        tasks = List.copyOf(tasks);
+    }
+
+    /**
+     * @return The day the run started on
+     */
+    public LocalDate date() {
+        return startTime.toLocalDate();
+    }
+}
@@ -0,0 +1,41 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import androidx.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Where finished runs of routines are kept. Runs are only ever added, never changed or removed.
+ */
+public interface RunHistoryStore {
+    /**
+     * Add a finished run.
+     */
+    void append(RoutineRun run);
+
+    /**
+     * @param routineId ID of the routine
+     * @param from      First day, inclusive
+     * @param to        Last day, inclusive
+     * @return The runs of the routine that started on the given days, oldest first
+     */
+    List<RoutineRun> findRuns(int routineId, LocalDate from, LocalDate to);
+
+    /**
+     * @param routineId ID of the routine
+     * @return All runs of the routine, oldest first
+     */
+    List<RoutineRun> findRuns(int routineId);
+
+    /**
+     * @param routineId ID of the routine
+     * @return The last run of the routine, or null if it hasn't been run
+     */
+    @Nullable RoutineRun latest(int routineId);
+
+    /**
+     * @return How many runs there are, of all routines
+     */
+    int count();
+}
@@ -5,6 +5,9 @@ import androidx.annotation.Nullable;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import edu.ucsd.cse110.habitizer.lib.domain.timer.TaskTimer;
 
@@ -25,6 +28,9 @@ public class Task implements Serializable {
     // Add this new field
     private long elapsedTimeMillis;
 
+    // Told about every change to the task, by each routine it belongs to
+    private transient @Nullable List<Consumer<Task>> changeListeners;
+
     // Your existing constructors
 
     // Add these two new methods
@@ -52,10 +58,12 @@ public class Task implements Serializable {
 
     public void setTaskId(int id) {
         this.id = id;
+        changed();
     }
 
     public void setTaskName(String taskName) {
         this.taskName = taskName;
+        changed();
     }
 
     public Task withId(int id) {
@@ -68,6 +76,7 @@ public class Task implements Serializable {
         this.elapsedSeconds = 0;
         this.isCheckedOff = false;
         this.isSkipped = false;
+        changed();
     }
 
 
@@ -85,6 +94,7 @@ public class Task implements Serializable {
     
     public void setElapsedSeconds(int seconds) {
         this.elapsedSeconds = seconds;
+        changed();
     }
     
     /**
@@ -101,6 +111,7 @@ public class Task implements Serializable {
         this.isCompleted = true;
         this.isCheckedOff = true;
         this.isSkipped = false;
+        changed();
     }
 
     // Returns if task is checked off
@@ -113,6 +124,7 @@ public class Task implements Serializable {
         this.isCheckedOff = checkedOff;
         this.isCompleted = checkedOff;
         this.isSkipped = !checkedOff;
+        changed();
     }
 
     // Getters
@@ -133,13 +145,29 @@ public class Task implements Serializable {
 
     public void setCompleted(boolean completed) {
         this.isCompleted = completed;
+        changed();
     }
 
     public void setSkipped(boolean skipped) {
         isSkipped = skipped;
+        changed();
     }
 
     public boolean isSkipped() {
         return isSkipped;
     }
+
+    void addChangeListener(Consumer<Task> listener) {
+        if (changeListeners == null) changeListeners = new CopyOnWriteArrayList<>();
+        changeListeners.add(listener);
+    }
+
+    void removeChangeListener(Consumer<Task> listener) {
+        if (changeListeners != null) changeListeners.remove(listener);
+    }
+
+    private void changed() {
+        if (changeListeners == null) return;
+        for (var listener : changeListeners) listener.accept(this);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,206 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import androidx.annotation.Nullable;
+
+import edu.ucsd.cse110.observables.ListChange;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Index over the tasks of a routine: the position of each task, and the first task with each id
+ * and each name. It is kept up to date from the changes to the task list (see
+ * {@link #apply(ListChange)}) and to the tasks themselves (see {@link #taskChanged(Task)}), so
+ * looking a task up doesn't scan the list.
+ * <p>
+ * Keeping positions up to date costs as much as the list shifting its elements: appending and
+ * moving a task by one place are constant time. A task may be in the list more than once; while
+ * any is, positions are looked up by scanning the list, like {@link List#indexOf}.
+ */
+final class TaskIndex {
+    private final List<Task> tasks;
+    // Tasks compare by identity, so this is keyed by instance.
+    private final Map<Task, Slot> slots = new HashMap<>();
+    private final KeyIndex<Integer> byId = new KeyIndex<>(Task::getTaskId);
+    private final KeyIndex<String> byName = new KeyIndex<>(Task::getTaskName);
+    // How many extra copies of tasks the list holds
+    private int duplicates = 0;
+
+    TaskIndex(List<Task> tasks) {
+        this.tasks = tasks;
+        rebuild();
+    }
+
+    /**
+     * @return The position of the task in the list, or -1 if it isn't in it.
+     */
+    int positionOf(Task task) {
+        var slot = slots.get(task);
+        if (slot == null) return -1;
+        return duplicates > 0 ? tasks.indexOf(task) : slot.position;
+    }
+
+    /**
+     * @return The first task with the given id, or null if there is none.
+     */
+    @Nullable Task byId(int id) {
+        return byId.first.get(id);
+    }
+
+    /**
+     * @return The first task with the given name, or null if there is none.
+     */
+    @Nullable Task byName(String name) {
+        return byName.first.get(name);
+    }
+
+    /**
+     * Update the index after a change to the list, which has already been made.
+     */
+    void apply(ListChange<Task> change) {
+        switch (change.kind()) {
+            case INSERT -> {
+                renumber(change.index(), tasks.size());
+                for (var task : change.items()) added(task);
+            }
+            case REMOVE -> {
+                boolean hadDuplicates = duplicates > 0;
+                for (var task : change.items()) {
+                    var slot = slots.get(task);
+                    if (slot == null) continue;
+                    byId.remove(slot.id, task);
+                    byName.remove(slot.name, task);
+                    if (--slot.copies == 0) {
+                        slots.remove(task);
+                    } else {
+                        duplicates--;
+                    }
+                }
+                // Positions of repeated tasks weren't kept, so renumber them all once there are none
+                renumber(hadDuplicates && duplicates == 0 ? 0 : change.index(), tasks.size());
+            }
+            case MOVE -> {
+                renumber(Math.min(change.index(), change.toIndex()), Math.max(change.index(), change.toIndex()) + 1);
+                var task = change.items().get(0);
+                var slot = slots.get(task);
+                byId.moved(slot.id);
+                byName.moved(slot.name);
+            }
+            // Replaced tasks aren't part of the change, and sorting touches everything anyway.
+            case CHANGE -> rebuild();
+        }
+    }
+
+    /**
+     * Update the index after a task in the list may have changed its id or name.
+     */
+    void taskChanged(Task task) {
+        var slot = slots.get(task);
+        if (slot == null) return;
+        if (!Objects.equals(slot.id, task.getTaskId())) {
+            for (int i = 0; i < slot.copies; i++) byId.remove(slot.id, task);
+            slot.id = task.getTaskId();
+            for (int i = 0; i < slot.copies; i++) byId.add(slot.id, task);
+        }
+        if (!Objects.equals(slot.name, task.getTaskName())) {
+            for (int i = 0; i < slot.copies; i++) byName.remove(slot.name, task);
+            slot.name = task.getTaskName();
+            for (int i = 0; i < slot.copies; i++) byName.add(slot.name, task);
+        }
+    }
+
+    private void rebuild() {
+        slots.clear();
+        byId.clear();
+        byName.clear();
+        duplicates = 0;
+        renumber(0, tasks.size());
+        for (var task : tasks) added(task);
+    }
+
+    // Index one more copy of a task in the list, whose slot renumber() has made.
+    private void added(Task task) {
+        var slot = slots.get(task);
+        if (++slot.copies > 1) {
+            duplicates++;
+        } else {
+            slot.id = task.getTaskId();
+            slot.name = task.getTaskName();
+        }
+        byId.add(slot.id, task);
+        byName.add(slot.name, task);
+    }
+
+    // Record the positions of the tasks in [from, to), adding slots for new tasks.
+    private void renumber(int from, int to) {
+        for (int i = from; i < to; i++) {
+            slots.computeIfAbsent(tasks.get(i), task -> new Slot()).position = i;
+        }
+    }
+
+    private static final class Slot {
+        // Only kept up to date while no task is in the list twice
+        int position;
+        int copies;
+        // The id and name the task is indexed under, which it may have changed since.
+        @Nullable Integer id;
+        @Nullable String name;
+    }
+
+    // The first task in the list with each key, and how many tasks have it.
+    private final class KeyIndex<K> {
+        final Map<K, Task> first = new HashMap<>();
+        final Map<K, Integer> count = new HashMap<>();
+        final Function<Task, K> keyOf;
+
+        KeyIndex(Function<Task, K> keyOf) {
+            this.keyOf = keyOf;
+        }
+
+        void add(@Nullable K key, Task task) {
+            if (key == null) return;
+            if (count.merge(key, 1, Integer::sum) == 1) {
+                first.put(key, task);
+            } else if (positionOf(task) < positionOf(first.get(key))) {
+                first.put(key, task);
+            }
+        }
+
+        void remove(@Nullable K key, Task task) {
+            if (key == null) return;
+            int left = count.merge(key, -1, Integer::sum);
+            if (left <= 0) {
+                count.remove(key);
+                first.remove(key);
+            } else if (first.get(key) == task) {
+                rescan(key);
+            }
+        }
+
+        // A task with this key moved, which may have changed which one comes first.
+        void moved(@Nullable K key) {
+            if (key == null || count.getOrDefault(key, 0) < 2) return;
+            rescan(key);
+        }
+
+        void clear() {
+            first.clear();
+            count.clear();
+        }
+
+        // Only needed when several tasks share a key, which is rare. Goes by the tasks' current
+        // keys, so a task that is being re-keyed away from this one isn't picked.
+        private void rescan(K key) {
+            first.remove(key);
+            for (var task : tasks) {
+                if (key.equals(keyOf.apply(task))) {
+                    first.put(key, task);
+                    return;
+                }
+            }
+        }
+    }
+}
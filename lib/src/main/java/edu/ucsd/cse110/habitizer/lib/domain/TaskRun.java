@@ -0,0 +1,26 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import androidx.annotation.Nullable;
+
+import java.io.Serializable;
+
+/**
+ * How a task went in one run of a routine, see {@link RoutineRun}.
+ *
+ * @param taskId          ID of the task
+ * @param taskName        Name of the task at the time
+ * @param durationMinutes Time spent on the task, in minutes as shown to the user
+ * @param elapsedSeconds  Time spent on the task, in seconds
+ * @param completed       Whether the task was completed
+ * @param skipped         Whether the task was skipped
+ */
+public record TaskRun(@Nullable Integer taskId, String taskName, int durationMinutes,
+                      int elapsedSeconds, boolean completed, boolean skipped) implements Serializable {
+    /**
+     * @return How the task went, from its current state
+     */
+    public static TaskRun of(Task task) {
+        return new TaskRun(task.getTaskId(), task.getTaskName(), task.getDuration(),
+                task.getElapsedSeconds(), task.isCompleted(), task.isSkipped());
+    }
+}
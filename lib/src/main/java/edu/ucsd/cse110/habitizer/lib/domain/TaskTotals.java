@@ -0,0 +1,44 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+/**
+ * Running totals over the tasks of a routine, see {@link Routine#getTaskTotalsSubject()}.
+ *
+ * @param tasks          Number of tasks
+ * @param checkedOff     Number of tasks checked off
+ * @param completed      Number of tasks completed
+ * @param skipped        Number of tasks skipped
+ * @param elapsedSeconds Total time spent on completed tasks, in seconds
+ */
+public record TaskTotals(int tasks, int checkedOff, int completed, int skipped, long elapsedSeconds) {
+    public static final TaskTotals ZERO = new TaskTotals(0, 0, 0, 0, 0);
+
+    /**
+     * @return What the task contributes to the totals, in its current state
+     */
+    public static TaskTotals of(Task task) {
+        return new TaskTotals(1,
+                task.isCheckedOff() ? 1 : 0,
+                task.isCompleted() ? 1 : 0,
+                task.isSkipped() ? 1 : 0,
+                task.isCompleted() ? task.getElapsedSeconds() : 0);
+    }
+
+    public TaskTotals plus(TaskTotals other) {
+        return new TaskTotals(tasks + other.tasks, checkedOff + other.checkedOff,
+                completed + other.completed, skipped + other.skipped,
+                elapsedSeconds + other.elapsedSeconds);
+    }
+
+    public TaskTotals minus(TaskTotals other) {
+        return new TaskTotals(tasks - other.tasks, checkedOff - other.checkedOff,
+                completed - other.completed, skipped - other.skipped,
+                elapsedSeconds - other.elapsedSeconds);
+    }
+
+    /**
+     * @return True if there are tasks and all of them are checked off
+     */
+    public boolean allCheckedOff() {
+        return tasks > 0 && checkedOff == tasks;
+    }
+}
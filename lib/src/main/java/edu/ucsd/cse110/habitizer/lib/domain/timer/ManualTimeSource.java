@@ -0,0 +1,53 @@
+package edu.ucsd.cse110.habitizer.lib.domain.timer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A {@link TimeSource} that only moves when told to, for tests: {@link #advance} moves both
+ * clocks forward, and {@link #jumpWallClock} moves only the wall clock, the way changing the
+ * device's time does.
+ */
+public class ManualTimeSource implements TimeSource {
+    private long nanos = 0;
+    private LocalDateTime wallClock;
+
+    /**
+     * @param wallClock What the wall clock reads to begin with.
+     */
+    public ManualTimeSource(LocalDateTime wallClock) {
+        this.wallClock = wallClock;
+    }
+
+    @Override
+    public synchronized long nanoTime() {
+        return nanos;
+    }
+
+    @Override
+    public synchronized LocalDateTime wallClock() {
+        return wallClock;
+    }
+
+    /**
+     * Let time pass.
+     * @param duration How much, must not be negative
+     */
+    public synchronized void advance(Duration duration) {
+        if (duration.isNegative()) throw new IllegalArgumentException("time can't go backwards");
+        nanos += duration.toNanos();
+        wallClock = wallClock.plus(duration);
+    }
+
+    public void advanceSeconds(long seconds) {
+        advance(Duration.ofSeconds(seconds));
+    }
+
+    /**
+     * Set the wall clock forward or back, without any time passing.
+     * @param by How far, negative to set it back
+     */
+    public synchronized void jumpWallClock(Duration by) {
+        wallClock = wallClock.plus(by);
+    }
+}
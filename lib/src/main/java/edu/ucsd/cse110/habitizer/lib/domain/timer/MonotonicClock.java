@@ -0,0 +1,87 @@
+package edu.ucsd.cse110.habitizer.lib.domain.timer;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * The time as routines and timers see it: the wall clock time when the clock was created, plus
+ * the monotonic time that has passed since. Timestamps read from it read like wall clock times
+ * (they are shown and saved as such), but never jump, so the time between two of them is always
+ * the time that actually passed.
+ * <p>
+ * Routines share {@link #getDefault()} unless given their own, so timestamps from different
+ * routine objects line up. On Android, install a clock over a time source that keeps counting
+ * while the device sleeps.
+ */
+public final class MonotonicClock {
+    private static volatile MonotonicClock defaultClock = new MonotonicClock(TimeSource.system());
+
+    private final TimeSource timeSource;
+    // The wall clock time at creation, as timeline nanos (see toNanos), and the monotonic time then
+    private final long anchorWallClock;
+    private final long anchorNanos;
+
+    public MonotonicClock(TimeSource timeSource) {
+        this.timeSource = timeSource;
+        this.anchorNanos = timeSource.nanoTime();
+        this.anchorWallClock = toNanos(timeSource.wallClock());
+    }
+
+    /**
+     * @return The current time on this clock
+     */
+    public LocalDateTime now() {
+        return toLocalDateTime(nowNanos());
+    }
+
+    /**
+     * Like {@link #now()}, as nanoseconds on the timeline (see {@link #toNanos}), without
+     * allocating.
+     * @return The current time on this clock
+     */
+    public long nowNanos() {
+        return anchorWallClock + (timeSource.nanoTime() - anchorNanos);
+    }
+
+    /**
+     * Convert a time to nanoseconds on the timeline timers keep times on: nanoseconds since
+     * 1970-01-01T00:00 in the same (local) time. Doesn't allocate.
+     * @param time The time, or null
+     * @return The time in nanoseconds, or Long.MIN_VALUE for null
+     */
+    public static long toNanos(LocalDateTime time) {
+        if (time == null) return Long.MIN_VALUE;
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    /**
+     * The reverse of {@link #toNanos}.
+     * @param nanos The time in nanoseconds, or Long.MIN_VALUE
+     * @return The time, or null for Long.MIN_VALUE
+     */
+    public static LocalDateTime toLocalDateTime(long nanos) {
+        if (nanos == Long.MIN_VALUE) return null;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    /**
+     * @return The clock used by routines and timers that weren't given one
+     */
+    public static MonotonicClock getDefault() {
+        return defaultClock;
+    }
+
+    /**
+     * Replace the default clock. Affects routines and timers created from now on.
+     * @param clock The new default clock
+     */
+    public static void setDefault(MonotonicClock clock) {
+        defaultClock = Objects.requireNonNull(clock);
+    }
+}
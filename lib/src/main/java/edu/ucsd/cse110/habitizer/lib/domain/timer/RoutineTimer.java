@@ -1,14 +1,20 @@
 package edu.ucsd.cse110.habitizer.lib.domain.timer;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 
 public class RoutineTimer extends Timer {
+    public RoutineTimer() {
+        super();
+    }
+
+    public RoutineTimer(MonotonicClock clock) {
+        super(clock);
+    }
 
     @Override
     public void start(LocalDateTime start) {
         super.start(start);
-        this.endTime = null;
+        this.endNanos = UNSET;
     }
 
     public void end(LocalDateTime end) {
@@ -24,11 +30,8 @@ public class RoutineTimer extends Timer {
      */
     @Override
     public int getElapsedMinutes() {
-        if (getStartTime() == null) return 0;
-        if (getEndTime() == null) return 0;
-
-        long durationSeconds = Duration.between(getStartTime(), getEndTime()).toSeconds();
-        return (int) Math.ceil(durationSeconds / 60.0);
+        long durationSeconds = getDurationSeconds();
+        return (int) -Math.floorDiv(-durationSeconds, 60);
     }
 
     /**
@@ -37,11 +40,12 @@ public class RoutineTimer extends Timer {
      * @return total number of minutes since routine started, rounded DOWN
      */
     public int getCurrentMinutes(LocalDateTime curTime) {
-        if (getStartTime() == null) return 0;
+        return getCurrentMinutes(MonotonicClock.toNanos(curTime));
+    }
 
-        LocalDateTime effectiveEnd = getEndTime() != null ? getEndTime() : curTime;
-        long durationSeconds = Duration.between(getStartTime(), effectiveEnd).toSeconds();
-        return (int) Math.floor(durationSeconds / 60.0);
+    // Same as above, with the current time in nanos (see MonotonicClock.nowNanos())
+    public int getCurrentMinutes(long nowNanos) {
+        return (int) Math.floorDiv(getCurrentSeconds(nowNanos), 60);
     }
 
     // Helper method for UI updates
@@ -52,7 +56,7 @@ public class RoutineTimer extends Timer {
             if (isStopped) {
                 return getCurrentMinutes(currentTime);
             } else {
-                return getCurrentMinutes(LocalDateTime.now());
+                return getCurrentMinutes(clock.nowNanos());
             }
         }
     }
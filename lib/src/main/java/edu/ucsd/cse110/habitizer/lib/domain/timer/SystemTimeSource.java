@@ -0,0 +1,23 @@
+package edu.ucsd.cse110.habitizer.lib.domain.timer;
+
+import java.time.LocalDateTime;
+
+/**
+ * The clocks of the JVM, see {@link TimeSource#system()}.
+ */
+final class SystemTimeSource implements TimeSource {
+    static final SystemTimeSource INSTANCE = new SystemTimeSource();
+
+    private SystemTimeSource() {
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public LocalDateTime wallClock() {
+        return LocalDateTime.now();
+    }
+}
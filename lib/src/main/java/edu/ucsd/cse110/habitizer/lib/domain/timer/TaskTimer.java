@@ -1,13 +1,20 @@
 package edu.ucsd.cse110.habitizer.lib.domain.timer;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 
 public class TaskTimer extends Timer {
+    public TaskTimer() {
+        super();
+    }
+
+    public TaskTimer(MonotonicClock clock) {
+        super(clock);
+    }
+
     @Override
     public void start(LocalDateTime start) {
         super.start(start);
-        this.endTime = null;
+        this.endNanos = UNSET;
     }
 
     /**
@@ -16,10 +23,10 @@ public class TaskTimer extends Timer {
      */
     @Override
     public int getElapsedMinutes() {
-        if (startTime == null || endTime == null) return 0;
+        if (startNanos == UNSET || endNanos == UNSET) return 0;
 
         // calculating duration includes any fast forward clicks
-        long durationSeconds = Duration.between(startTime, endTime).toSeconds();
+        long durationSeconds = getDurationSeconds();
         
         // Ensure tasks always take at least 5 seconds
         if (durationSeconds < 5) {
@@ -32,7 +39,7 @@ public class TaskTimer extends Timer {
         }
         
         // For tasks over 1 minute, round up as before
-        return (int) Math.ceil(durationSeconds / 60.0);
+        return (int) -Math.floorDiv(-durationSeconds, 60);
     }
     
     /**
@@ -40,9 +47,9 @@ public class TaskTimer extends Timer {
      * @return total number of seconds since task started
      */
     public int getElapsedSeconds() {
-        if (startTime == null || endTime == null) return 0;
+        if (startNanos == UNSET || endNanos == UNSET) return 0;
         
-        long durationSeconds = Duration.between(startTime, endTime).toSeconds();
+        long durationSeconds = getDurationSeconds();
         
         // Ensure tasks always take at least 5 seconds
         if (durationSeconds < 5) {
@@ -0,0 +1,31 @@
+package edu.ucsd.cse110.habitizer.lib.domain.timer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Where routines and timers get the time from: a monotonic counter for measuring elapsed time,
+ * and the wall clock for telling the time. Routines and timers don't read either directly, but
+ * through a {@link MonotonicClock}.
+ * <p>
+ * {@link #system()} is the JVM's clocks. Tests use a {@link ManualTimeSource} instead, and move
+ * time forward by hand.
+ */
+public interface TimeSource {
+    /**
+     * @return A monotonic time in nanoseconds. It never goes backwards, but only differences
+     * between two readings mean anything.
+     */
+    long nanoTime();
+
+    /**
+     * @return The wall clock time. It can jump, e.g. when the user changes the device's time.
+     */
+    LocalDateTime wallClock();
+
+    /**
+     * @return The JVM's clocks: {@link System#nanoTime()} and {@link LocalDateTime#now()}.
+     */
+    static TimeSource system() {
+        return SystemTimeSource.INSTANCE;
+    }
+}
@@ -1,21 +1,38 @@
 // Base Timer class in timer package
 package edu.ucsd.cse110.habitizer.lib.domain.timer;
 
-import java.time.Duration;
-import java.time.LocalDate;
+import edu.ucsd.cse110.habitizer.lib.util.Logger;
+
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.temporal.Temporal;
 
+/**
+ * Start and end times are kept as primitive nanoseconds on the clock's timeline (see
+ * {@link MonotonicClock#toNanos}), so elapsed times are plain arithmetic: reading them every
+ * second doesn't allocate. The LocalDateTime getters and setters convert at the edges.
+ */
 public abstract class Timer {
-    protected LocalDateTime startTime;
-    protected LocalDateTime endTime;
+    // Marks a start or end time that isn't set
+    protected static final long UNSET = Long.MIN_VALUE;
+    protected static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    // Where "now" comes from for a running timer
+    protected final MonotonicClock clock;
+    protected long startNanos = UNSET;
+    protected long endNanos = UNSET;
     protected boolean isRunning = false;
 
+    protected Timer() {
+        this(MonotonicClock.getDefault());
+    }
+
+    protected Timer(MonotonicClock clock) {
+        this.clock = clock;
+    }
+
     // Starts timer
     public void start(LocalDateTime startTime) {
         if (!isRunning) {
-            this.startTime = startTime;
+            this.startNanos = MonotonicClock.toNanos(startTime);
             isRunning = true;
         }
     }
@@ -23,11 +40,12 @@ public abstract class Timer {
     // Ends timer
     public void end(LocalDateTime endTime) {
         if (isRunning) {
-            if (endTime.isBefore(startTime)) {
-                System.out.println("End time before start - Invalid");
+            long end = MonotonicClock.toNanos(endTime);
+            if (end < startNanos) {
+                Logger.w("Timer", "End time before start - Invalid");
                 return;
             }
-            this.endTime = endTime;
+            this.endNanos = end;
             isRunning = false;
         }
     }
@@ -35,13 +53,38 @@ public abstract class Timer {
     // Gets total time since start, ROUNDED UP
     public abstract int getElapsedMinutes();
 
+    // Gets whole seconds since start, up to the end time if ended or curTime if still running
+    public long getCurrentSeconds(LocalDateTime curTime) {
+        return getCurrentSeconds(MonotonicClock.toNanos(curTime));
+    }
+
+    // Same as above, with the current time in nanos (see MonotonicClock.nowNanos())
+    public long getCurrentSeconds(long nowNanos) {
+        if (startNanos == UNSET) return 0;
+        long effectiveEnd = endNanos != UNSET ? endNanos : nowNanos;
+        return Math.floorDiv(effectiveEnd - startNanos, NANOS_PER_SECOND);
+    }
+
+    // Whole seconds from start to end, or 0 if the timer hasn't both started and ended
+    protected long getDurationSeconds() {
+        if (startNanos == UNSET || endNanos == UNSET) return 0;
+        return Math.floorDiv(endNanos - startNanos, NANOS_PER_SECOND);
+    }
+
     // Common getters
-    public LocalDateTime getStartTime() { return startTime; }
-    public LocalDateTime getEndTime() { return endTime; }
+    public LocalDateTime getStartTime() { return MonotonicClock.toLocalDateTime(startNanos); }
+    public LocalDateTime getEndTime() { return MonotonicClock.toLocalDateTime(endNanos); }
+    public long getStartNanos() { return startNanos; }
+    public long getEndNanos() { return endNanos; }
     public boolean isRunning() { return isRunning; }
 
     // Testing functions
-    public void updateStartTime(LocalDateTime newStart) { startTime = newStart; }
-    public void updateEndTime(LocalDateTime newEnd) { endTime = newEnd; }
+    public void updateStartTime(LocalDateTime newStart) { startNanos = MonotonicClock.toNanos(newStart); }
+    public void updateEndTime(LocalDateTime newEnd) { endNanos = MonotonicClock.toNanos(newEnd); }
+
+    // Moves the start time, e.g. later by the time spent paused
+    public void shiftStart(long nanos) {
+        if (startNanos != UNSET) startNanos += nanos;
+    }
 
 }
@@ -0,0 +1,157 @@
+package edu.ucsd.cse110.habitizer.lib.util;
+
+import androidx.annotation.Nullable;
+
+/**
+ * A {@link Logger.Sink} that hands messages to a background thread, which writes them to another
+ * sink, so logging doesn't block the caller on I/O.
+ * <p>
+ * Messages wait in a ring buffer of fixed size. If the writer falls behind and the buffer fills
+ * up, the oldest waiting messages are dropped rather than blocking the caller, and the writer
+ * logs how many were dropped. {@link #close()} writes whatever is still waiting and stops the
+ * thread; messages after that are written on the caller's thread.
+ */
+public class AsyncLogSink implements Logger.Sink, AutoCloseable {
+    private final Logger.Sink delegate;
+    private final Thread writer;
+    private final Object lock = new Object();
+    private final Entry[] buffer;
+    // Guarded by lock: the oldest waiting message, and how many are waiting
+    private int head = 0;
+    private int count = 0;
+    // Guarded by lock: messages taken so far, those dropped since the writer last looked, and
+    // how many of the taken ones are written (or dropped) for flush()
+    private long taken = 0;
+    private long done = 0;
+    private int dropped = 0;
+    private long droppedTotal = 0;
+    private boolean closed = false;
+
+    /**
+     * @param delegate Where the background thread writes the messages
+     * @param capacity How many messages can wait to be written, at least one
+     */
+    public AsyncLogSink(Logger.Sink delegate, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        this.delegate = delegate;
+        this.buffer = new Entry[capacity];
+        this.writer = new Thread(this::drain, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void write(Logger.Level level, String tag, String message, @Nullable Throwable error) {
+        var entry = new Entry(level, tag, message, error);
+        synchronized (lock) {
+            if (!closed) {
+                if (count == buffer.length) {
+                    // Full: overwrite the oldest
+                    buffer[head] = entry;
+                    head = (head + 1) % buffer.length;
+                    dropped++;
+                    droppedTotal++;
+                } else {
+                    buffer[(head + count) % buffer.length] = entry;
+                    count++;
+                }
+                taken++;
+                if (count == 1) lock.notifyAll();
+                return;
+            }
+        }
+        delegate.write(level, tag, message, error);
+    }
+
+    /**
+     * Wait until the messages written so far have been passed on.
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        synchronized (lock) {
+            long target = taken;
+            while (done < target && writer.isAlive()) lock.wait();
+        }
+    }
+
+    /**
+     * @return How many messages were dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        synchronized (lock) {
+            return droppedTotal;
+        }
+    }
+
+    /**
+     * Write the waiting messages and stop the background thread.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void drain() {
+        var batch = new Entry[buffer.length];
+        while (true) {
+            int size;
+            int lost;
+            long upTo;
+            synchronized (lock) {
+                while (count == 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // Only close() stops the writer
+                    }
+                }
+                if (count == 0) return;
+                size = count;
+                for (int i = 0; i < size; i++) {
+                    int at = (head + i) % buffer.length;
+                    batch[i] = buffer[at];
+                    buffer[at] = null;
+                }
+                head = (head + size) % buffer.length;
+                count = 0;
+                lost = dropped;
+                dropped = 0;
+                upTo = taken;
+            }
+
+            if (lost > 0) pass(new Entry(Logger.Level.WARN, "Logger", lost + " log messages dropped", null));
+            for (int i = 0; i < size; i++) {
+                pass(batch[i]);
+                batch[i] = null;
+            }
+
+            synchronized (lock) {
+                done = upTo;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void pass(Entry entry) {
+        try {
+            delegate.write(entry.level, entry.tag, entry.message, entry.error);
+        } catch (RuntimeException e) {
+            // A failing sink mustn't kill the writer, and there's nowhere left to report it
+        }
+    }
+
+    private record Entry(Logger.Level level, String tag, String message, @Nullable Throwable error) {}
+}
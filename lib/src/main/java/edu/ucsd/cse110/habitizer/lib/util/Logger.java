@@ -1,27 +1,108 @@
 package edu.ucsd.cse110.habitizer.lib.util;
 
+import androidx.annotation.Nullable;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
 /**
  * Simple logger utility that works in non-Android modules
+ * <p>
+ * Messages below the level set with {@link #setLevel} are dropped. The {@link Supplier}
+ * overloads only build the message if it will be logged, so debug logging on hot paths costs
+ * a level check when it is off. Where messages go is up to the {@link Sink}, the console by
+ * default; see {@link AsyncLogSink} to write them off the calling thread.
  */
 public class Logger {
+    public enum Level { DEBUG, INFO, WARN, ERROR }
+
+    /**
+     * Where log messages go.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void write(Level level, String tag, String message, @Nullable Throwable error);
+    }
+
+    /**
+     * Writes to standard output, and errors to standard error.
+     */
+    public static final Sink CONSOLE = (level, tag, message, error) -> {
+        var line = "[" + level + "] " + tag + ": " + message;
+        if (level == Level.ERROR) {
+            System.err.println(line);
+        } else {
+            System.out.println(line);
+        }
+        if (error != null) error.printStackTrace();
+    };
+
+    private static volatile Level level = Level.DEBUG;
+    private static volatile Sink sink = CONSOLE;
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Drop messages below the given level.
+     */
+    public static void setLevel(Level level) {
+        Logger.level = Objects.requireNonNull(level);
+    }
+
+    public static Sink getSink() {
+        return sink;
+    }
+
+    public static void setSink(Sink sink) {
+        Logger.sink = Objects.requireNonNull(sink);
+    }
+
+    /**
+     * @return True if messages at the given level are logged, for guarding a block of logging
+     */
+    public static boolean isLoggable(Level level) {
+        return level.compareTo(Logger.level) >= 0;
+    }
+
     public static void d(String tag, String message) {
-        System.out.println("[DEBUG] " + tag + ": " + message);
+        log(Level.DEBUG, tag, message, null);
+    }
+
+    public static void d(String tag, Supplier<String> message) {
+        log(Level.DEBUG, tag, message, null);
     }
 
     public static void i(String tag, String message) {
-        System.out.println("[INFO] " + tag + ": " + message);
+        log(Level.INFO, tag, message, null);
+    }
+
+    public static void i(String tag, Supplier<String> message) {
+        log(Level.INFO, tag, message, null);
     }
 
     public static void w(String tag, String message) {
-        System.out.println("[WARN] " + tag + ": " + message);
+        log(Level.WARN, tag, message, null);
+    }
+
+    public static void w(String tag, Supplier<String> message) {
+        log(Level.WARN, tag, message, null);
     }
 
     public static void e(String tag, String message) {
-        System.err.println("[ERROR] " + tag + ": " + message);
+        log(Level.ERROR, tag, message, null);
     }
 
     public static void e(String tag, String message, Throwable e) {
-        System.err.println("[ERROR] " + tag + ": " + message);
-        e.printStackTrace();
+        log(Level.ERROR, tag, message, e);
+    }
+
+    private static void log(Level level, String tag, String message, @Nullable Throwable error) {
+        if (isLoggable(level)) sink.write(level, tag, message, error);
+    }
+
+    private static void log(Level level, String tag, Supplier<String> message, @Nullable Throwable error) {
+        if (isLoggable(level)) sink.write(level, tag, message.get(), error);
     }
-} 
\ No newline at end of file
+}
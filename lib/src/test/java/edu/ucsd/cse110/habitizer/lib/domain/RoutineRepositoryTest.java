@@ -72,4 +72,21 @@ public class RoutineRepositoryTest {
         assertNotNull(retrievedRoutine);
         assertEquals("New Routine", retrievedRoutine.getRoutineName());
     }
+
+    @Test
+    public void testSaveNotifiesTasksOnce() {
+        Routine routine = new Routine(1, "Morning Routine");
+        for (int i = 0; i < 5; i++) {
+            routine.addTask(new Task(i, "Task " + i, false));
+        }
+
+        TaskRepository taskRepository = new TaskRepository(dataSource);
+        List<List<Task>> notifications = new ArrayList<>();
+        taskRepository.findAll().observe(notifications::add);
+
+        routineRepository.save(routine);
+
+        assertEquals(1, notifications.size());
+        assertEquals(5, notifications.get(0).size());
+    }
 }
@@ -3,7 +3,15 @@ package edu.ucsd.cse110.habitizer.lib.domain;
 import org.junit.Before;
 import org.junit.Test;
 
+import edu.ucsd.cse110.observables.ListChange;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -90,4 +98,180 @@ public class RoutineTest {
 
         assertEquals(startTime.plusSeconds(60), routine.getCurrentTime());
     }
+
+    @Test
+    public void testMoveTaskIsSingleChange() {
+        Task first = new Task(1, "First", false);
+        Task second = new Task(2, "Second", false);
+        routine.addTask(first);
+        routine.addTask(second);
+
+        var changes = routine.getTasks().recordChanges(() -> routine.moveTaskUp(second));
+
+        assertEquals(1, changes.size());
+        assertEquals(ListChange.Kind.MOVE, changes.get(0).kind());
+        assertEquals(List.of(second, first), routine.getTasks());
+    }
+
+    @Test
+    public void testTaskTotals() {
+        Task first = new Task(1, "First", false);
+        Task second = new Task(2, "Second", false);
+        routine.addTask(first);
+        routine.addTask(second);
+        routine.startRoutine(startTime);
+        routine.pauseTime(startTime);
+
+        List<TaskTotals> published = new ArrayList<>();
+        routine.getTaskTotalsSubject().observe(published::add);
+
+        routine.advanceTime(45);
+        routine.completeTask("First");
+        assertEquals(new TaskTotals(2, 1, 1, 0, 45), routine.getTaskTotals());
+        assertFalse(routine.autoCompleteRoutine());
+
+        routine.removeTask(second);
+        assertEquals(new TaskTotals(1, 1, 1, 0, 45), routine.getTaskTotals());
+        assertTrue(routine.autoCompleteRoutine());
+
+        first.reset();
+        assertEquals(new TaskTotals(1, 0, 0, 0, 0), routine.getTaskTotals());
+        assertEquals(routine.getTaskTotals(), published.get(published.size() - 1));
+    }
+
+    // Checks that a task shared by two routines keeps both of their totals up to date
+    @Test
+    public void testTaskTotals_SharedTask() {
+        Task shared = new Task(1, "Shared", false);
+        Routine other = new Routine(2, "Other Routine");
+        routine.addTask(shared);
+        other.addTask(shared);
+
+        shared.setCheckedOff(true);
+        assertEquals(1, routine.getTaskTotals().checkedOff());
+        assertEquals(1, other.getTaskTotals().checkedOff());
+        assertTrue(routine.autoCompleteRoutine());
+
+        other.removeTask(shared);
+        shared.reset();
+        assertEquals(0, routine.getTaskTotals().checkedOff());
+        assertEquals(TaskTotals.ZERO, other.getTaskTotals());
+    }
+
+    @Test
+    public void testCompleteTaskById() {
+        Task first = new Task(1, "First", false);
+        Task second = new Task(2, "Second", false);
+        routine.addTask(first);
+        routine.addTask(second);
+        routine.startRoutine(startTime);
+        routine.completeTask(2);
+
+        assertFalse(first.isCompleted());
+        assertTrue(second.isCompleted());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompleteTaskById_NotFound() {
+        routine.startRoutine(startTime);
+        routine.completeTask(42);
+    }
+
+    @Test
+    public void testTaskLookupsFollowChanges() {
+        Task a = new Task(1, "Same", false);
+        Task b = new Task(2, "Other", false);
+        Task c = new Task(3, "Same", false);
+        routine.addTask(a);
+        routine.addTask(b);
+        routine.addTask(c);
+        routine.startRoutine(startTime);
+
+        // The first task with a name is the one completed, even after reordering
+        routine.moveTask(2, 0);
+        assertEquals(List.of(c, a, b), routine.getTasks());
+        routine.completeTask("Same");
+        assertTrue(c.isCompleted());
+        assertFalse(a.isCompleted());
+
+        // Renaming and removing tasks is picked up too
+        b.setTaskName("Renamed");
+        routine.removeTask(c);
+        routine.completeTask("Renamed");
+        routine.completeTask("Same");
+        assertTrue(b.isCompleted());
+        assertTrue(a.isCompleted());
+
+        routine.moveTaskDown(a);
+        assertEquals(List.of(b, a), routine.getTasks());
+        routine.moveTaskUp(a);
+        assertEquals(List.of(a, b), routine.getTasks());
+    }
+
+    // Checks that a task in the routine twice can still be found and removed after removing one copy
+    @Test
+    public void testDuplicateTask() {
+        Task twice = new Task(1, "Twice", false);
+        Task other = new Task(2, "Other", false);
+        routine.addTask(twice);
+        routine.addTask(other);
+        routine.addTask(twice);
+
+        assertTrue(routine.removeTask(twice));
+        assertEquals(List.of(other, twice), routine.getTasks());
+        routine.moveTaskUp(twice);
+        assertEquals(List.of(twice, other), routine.getTasks());
+
+        twice.setCheckedOff(true);
+        assertEquals(1, routine.getTaskTotals().checkedOff());
+        routine.completeTask("Twice");
+        assertTrue(twice.isCompleted());
+
+        assertTrue(routine.removeTask(twice));
+        assertFalse(routine.removeTask(twice));
+        assertEquals(List.of(other), routine.getTasks());
+        assertEquals(1, routine.getTaskTotals().tasks());
+    }
+
+    // Checks that a routine can be serialized and read back with its tasks and timers
+    @Test
+    public void testSerialization() throws Exception {
+        routine.addTask(new Task(1, "First", false));
+        routine.addTask(new Task(2, "Second", false));
+        routine.updateGoalTime(20);
+        routine.startRoutine(startTime);
+        routine.pauseTime(startTime);
+        routine.advanceTime(45);
+        routine.completeTask("First");
+
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(routine);
+        }
+        Routine copy;
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (Routine) in.readObject();
+        }
+
+        assertEquals(Integer.valueOf(1), copy.getRoutineId());
+        assertEquals("Test Routine", copy.getRoutineName());
+        assertEquals(Integer.valueOf(20), copy.getGoalTime());
+        assertEquals(startTime, copy.getRoutineTimer().getStartTime());
+        assertTrue(copy.getRoutineTimer().isRunning());
+        assertEquals(new TaskTotals(2, 1, 1, 0, 45), copy.getTaskTotals());
+
+        copy.advanceTime(30);
+        copy.completeTask(2);
+        assertTrue(copy.getTaskTotals().allCheckedOff());
+        assertFalse(routine.getTasks().get(1).isCompleted());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompleteTask_RenamedAway() {
+        Task task = new Task(1, "Old", false);
+        routine.addTask(task);
+        routine.startRoutine(startTime);
+        task.setTaskName("New");
+        routine.completeTask("Old");
+    }
 }
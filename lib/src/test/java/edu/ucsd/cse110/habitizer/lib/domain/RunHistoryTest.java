@@ -0,0 +1,96 @@
+package edu.ucsd.cse110.habitizer.lib.domain;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import edu.ucsd.cse110.habitizer.lib.data.InMemoryRunHistoryStore;
+import edu.ucsd.cse110.habitizer.lib.domain.timer.ManualTimeSource;
+
+import static org.junit.Assert.*;
+
+public class RunHistoryTest {
+    private InMemoryRunHistoryStore store;
+    private LocalDateTime startTime;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryRunHistoryStore();
+        startTime = LocalDateTime.of(2025, 2, 1, 8, 0, 0);
+    }
+
+    private RoutineRun runOn(int routineId, LocalDateTime start) {
+        return new RoutineRun(routineId, "Routine " + routineId, start, start.plusMinutes(20), 20, null, List.of());
+    }
+
+    // Checks that ending a routine records the run, and resetting tasks afterwards doesn't change it
+    @Test
+    public void testEndRoutineRecordsRun() {
+        var time = new ManualTimeSource(startTime);
+        Routine routine = new Routine(1, "Morning", time);
+        Task shower = new Task(0, "Shower", false);
+        Task dress = new Task(1, "Dress", false);
+        routine.addTask(shower);
+        routine.addTask(dress);
+        routine.updateGoalTime(30);
+        routine.setRunHistory(store);
+
+        routine.startRoutine(routine.now());
+        time.advanceSeconds(90);
+        routine.completeTask("Shower");
+        time.advanceSeconds(60);
+        routine.endRoutine(routine.now());
+
+        // Ending again isn't another run
+        routine.endRoutine(routine.now());
+        assertEquals(1, store.count());
+
+        RoutineRun run = store.latest(1);
+        assertNotNull(run);
+        assertEquals(startTime, run.startTime());
+        assertEquals(startTime.plusSeconds(150), run.endTime());
+        assertEquals(3, run.elapsedMinutes());
+        assertEquals(Integer.valueOf(30), run.goalTime());
+        assertEquals(List.of(
+                new TaskRun(0, "Shower", 2, 90, true, false),
+                new TaskRun(1, "Dress", 0, 0, false, true)), run.tasks());
+
+        shower.reset();
+        dress.reset();
+        assertEquals(90, store.latest(1).tasks().get(0).elapsedSeconds());
+    }
+
+    // Checks range queries by routine and inclusive day range, including runs appended out of order
+    @Test
+    public void testFindRunsByDate() {
+        for (int day = 0; day < 3 * 365; day++) {
+            store.append(runOn(1, startTime.plusDays(day)));
+            store.append(runOn(2, startTime.plusDays(day).plusHours(12)));
+        }
+        // Imported late, and a second run on the same day
+        store.append(runOn(1, startTime.minusDays(1)));
+        store.append(runOn(1, startTime.plusDays(10).plusHours(1)));
+
+        List<RoutineRun> runs = store.findRuns(1, LocalDate.of(2025, 2, 10), LocalDate.of(2025, 2, 11));
+        assertEquals(List.of(
+                runOn(1, startTime.plusDays(9)),
+                runOn(1, startTime.plusDays(10)),
+                runOn(1, startTime.plusDays(10).plusHours(1))), runs);
+
+        assertEquals(runOn(1, startTime.minusDays(1)), store.findRuns(1).get(0));
+        assertEquals(3 * 365 + 2, store.findRuns(1).size());
+        assertEquals(2, store.findRuns(2, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 2)).size());
+        assertTrue(store.findRuns(1, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 12, 31)).isEmpty());
+        assertTrue(store.findRuns(3).isEmpty());
+        assertNull(store.latest(3));
+        assertEquals(2 * 3 * 365 + 2, store.count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppendWithoutRoutineId() {
+        store.append(new RoutineRun(null, "No ID", startTime, startTime, 0, null, List.of()));
+    }
+}
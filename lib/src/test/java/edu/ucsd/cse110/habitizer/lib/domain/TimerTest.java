@@ -5,8 +5,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 
 import org.junit.Test;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
+import edu.ucsd.cse110.habitizer.lib.domain.timer.ManualTimeSource;
+import edu.ucsd.cse110.habitizer.lib.domain.timer.MonotonicClock;
 import edu.ucsd.cse110.habitizer.lib.domain.timer.RoutineTimer;
 import edu.ucsd.cse110.habitizer.lib.domain.timer.TaskTimer;
 
@@ -75,4 +78,38 @@ public class TimerTest {
         assertEquals(rTimer.getCurrentMinutes(time2), 30);
         assertNull(rTimer.getEndTime());
     }
+
+    // Checks that a running timer measures time on its clock, not the wall clock
+    @Test
+    public void testLiveMinutesIgnoreWallClockJumps() {
+        ManualTimeSource time = new ManualTimeSource(time1);
+        MonotonicClock clock = new MonotonicClock(time);
+        RoutineTimer rTimer = new RoutineTimer(clock);
+
+        rTimer.start(clock.now());
+        time.advanceSeconds(150);
+        assertEquals(2, rTimer.getLiveMinutes(false, null));
+
+        // Setting the wall clock back an hour doesn't take time off the routine
+        time.jumpWallClock(Duration.ofHours(-1));
+        time.advanceSeconds(30);
+        assertEquals(3, rTimer.getLiveMinutes(false, null));
+        assertEquals(time1.plusSeconds(180), clock.now());
+    }
+
+    // Checks that a routine with a manual time source is timed deterministically
+    @Test
+    public void testRoutineWithManualTime() {
+        ManualTimeSource time = new ManualTimeSource(time1);
+        Routine routine = new Routine(1, "Timed", time);
+        routine.addTask(new Task(1, "Only", false));
+
+        routine.startRoutine(routine.now());
+        time.advanceSeconds(75);
+        routine.completeTask(1);
+
+        assertEquals(75, routine.getTasks().get(0).getElapsedSeconds());
+        assertEquals(1, routine.getRoutineDurationMinutes());
+        assertEquals(75L, routine.getRoutineTimer().getCurrentSeconds(routine.now()));
+    }
 }
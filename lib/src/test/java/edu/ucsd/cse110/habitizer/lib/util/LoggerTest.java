@@ -0,0 +1,85 @@
+package edu.ucsd.cse110.habitizer.lib.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class LoggerTest {
+    List<String> written = Collections.synchronizedList(new ArrayList<>());
+    Logger.Sink recording = (level, tag, message, error) -> written.add(level + " " + tag + ": " + message);
+
+    @After
+    public void restoreLogger() {
+        Logger.setLevel(Logger.Level.DEBUG);
+        Logger.setSink(Logger.CONSOLE);
+    }
+
+    // Checks that messages below the level are dropped without building them
+    @Test
+    public void testLevelFiltering() {
+        Logger.setSink(recording);
+        Logger.setLevel(Logger.Level.INFO);
+
+        Logger.d("T", () -> {
+            throw new AssertionError("built a message that isn't logged");
+        });
+        Logger.d("T", "debug");
+        Logger.i("T", () -> "info");
+        Logger.w("T", "warn");
+        Logger.e("T", "error");
+
+        assertEquals(List.of("INFO T: info", "WARN T: warn", "ERROR T: error"), written);
+        assertFalse(Logger.isLoggable(Logger.Level.DEBUG));
+        assertTrue(Logger.isLoggable(Logger.Level.WARN));
+    }
+
+    // Checks that the async sink passes messages on in order, and close() writes what's waiting
+    @Test
+    public void testAsyncSinkKeepsOrder() throws InterruptedException {
+        try (var async = new AsyncLogSink(recording, 16)) {
+            Logger.setSink(async);
+            for (int i = 0; i < 10; i++) Logger.d("T", "message " + i);
+            async.flush();
+            assertEquals(10, written.size());
+
+            Logger.d("T", "last");
+        }
+        assertEquals("DEBUG T: message 0", written.get(0));
+        assertEquals("DEBUG T: message 9", written.get(9));
+        assertEquals("DEBUG T: last", written.get(10));
+    }
+
+    // Checks that a full buffer drops the oldest messages instead of blocking the caller
+    @Test
+    public void testAsyncSinkDropsOldestWhenFull() throws InterruptedException {
+        var writing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Logger.Sink slow = (level, tag, message, error) -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(message);
+        };
+
+        try (var async = new AsyncLogSink(slow, 2)) {
+            async.write(Logger.Level.INFO, "T", "first", null);
+            writing.await();
+            // The writer is stuck on "first", so these fill the buffer and push out the oldest
+            async.write(Logger.Level.INFO, "T", "a", null);
+            async.write(Logger.Level.INFO, "T", "b", null);
+            async.write(Logger.Level.INFO, "T", "c", null);
+            assertEquals(1, async.getDroppedCount());
+            release.countDown();
+        }
+        assertEquals(List.of("first", "1 log messages dropped", "b", "c"), written);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.ucsd.cse110.observables;
+
+/**
+ * A subject holding a {@code boolean}, without boxing it. Setting a value does not allocate, and
+ * observers are only notified when the value changes.
+ *
+ * @see PrimitiveSubject
+ */
+public class BooleanSubject extends PrimitiveSubject<BooleanObserver> {
+    private volatile boolean value;
+    // The value last delivered, only used by the delivering thread, see deliverLatest()
+    private boolean delivered;
+    private boolean hasDelivered;
+
+    public BooleanSubject() {
+    }
+
+    public BooleanSubject(boolean initialValue) {
+        this.value = initialValue;
+        this.initialized = true;
+        this.delivered = initialValue;
+        this.hasDelivered = true;
+    }
+
+    /**
+     * @return The current value, or the default value if {@link #isInitialized()} is false.
+     */
+    public boolean getValue() {
+        return value;
+    }
+
+    /**
+     * Sets the value of the subject, notifying observers if it changed.
+     *
+     * @param newValue The new value.
+     */
+    public void setValue(boolean newValue) {
+        if (initialized && value == newValue) return;
+        value = newValue;
+        if (!initialized) initialized = true;
+        deliverChanges();
+    }
+
+    @Override
+    protected void deliverLatest() {
+        boolean current = value;
+        if (hasDelivered && current == delivered) return;
+        delivered = current;
+        hasDelivered = true;
+        for (Object observer : observerSnapshot()) {
+            ((BooleanObserver) observer).onChanged(current);
+        }
+    }
+
+    @Override
+    protected void deliverCurrent(BooleanObserver observer) {
+        observer.onChanged(value);
+    }
+}
@@ -0,0 +1,83 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A group of {@link Disposable}s disposed of together, for registrations that share a lifecycle.
+ * <p>
+ * Typical use, in a fragment:
+ * <pre>{@code
+ * private final CompositeDisposable viewSubscriptions = new CompositeDisposable();
+ *
+ * public void onViewCreated(...) {
+ *     viewSubscriptions.add(subject.subscribe(value -> ...));
+ * }
+ *
+ * public void onDestroyView() {
+ *     viewSubscriptions.clear();
+ * }
+ * }</pre>
+ */
+public final class CompositeDisposable implements Disposable {
+    private final List<Disposable> disposables = new ArrayList<>();
+    private boolean disposed = false;
+
+    /**
+     * Add a registration to the group. If the group was already disposed of, the registration is
+     * disposed of right away instead.
+     *
+     * @param disposable The registration.
+     * @return The same registration.
+     */
+    public <D extends Disposable> D add(@NonNull D disposable) {
+        synchronized (this) {
+            if (!disposed) {
+                disposables.add(disposable);
+                return disposable;
+            }
+        }
+        disposable.dispose();
+        return disposable;
+    }
+
+    /**
+     * @return How many registrations the group holds.
+     */
+    public synchronized int size() {
+        return disposables.size();
+    }
+
+    /**
+     * Dispose of every registration in the group, and keep the group usable for new ones.
+     */
+    public void clear() {
+        disposeAll(false);
+    }
+
+    /**
+     * Dispose of every registration in the group, and of any added later.
+     */
+    @Override
+    public void dispose() {
+        disposeAll(true);
+    }
+
+    @Override
+    public synchronized boolean isDisposed() {
+        return disposed;
+    }
+
+    private void disposeAll(boolean forever) {
+        List<Disposable> toDispose;
+        synchronized (this) {
+            if (forever) disposed = true;
+            toDispose = List.copyOf(disposables);
+            disposables.clear();
+        }
+        // Outside the lock, since disposing runs onInactive callbacks.
+        for (var disposable : toDispose) disposable.dispose();
+    }
+}
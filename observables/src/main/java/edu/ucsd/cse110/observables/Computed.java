@@ -0,0 +1,122 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A subject whose value is computed by a function, and which works out for itself which
+ * subjects that function depends on. Like a "signal" in other reactive libraries:
+ * <pre>{@code
+ * var remaining = new Computed<>(() -> goal.getValue() - elapsed.getValue());
+ * }</pre>
+ * Every {@link Subject#getValue()} made while the function runs is recorded, and the subject
+ * depends on exactly the subjects read by the latest run. If a run takes a different branch and
+ * reads different subjects, the dependencies follow. Subjects only reached through
+ * {@link Subject#getVersioned()}, or primitive subjects, are not recorded.
+ * <p>
+ * The result is cached:
+ * <ul>
+ *     <li>While observed, the subject observes its dependencies, and is recomputed (glitch-free,
+ *     see {@link PlainDerivedSubject}) when one of them changes.</li>
+ *     <li>While not observed, it doesn't observe anything. Reading it checks whether any
+ *     dependency has been written since the last run (by comparing versions, see
+ *     {@link Versioned}), and only runs the function again if one has.</li>
+ * </ul>
+ * The function must not read the subject it computes, directly or through others.
+ *
+ * @param <T> The type of the computed value.
+ */
+public class Computed<T> extends PlainDerivedSubject<T> {
+    private final Supplier<T> compute;
+    // Subjects read by the last run, with the versions that were read. Null before the first run.
+    private volatile @Nullable Map<Subject<?>, Long> dependencies = null;
+    // The thread currently running the function, to tell a cycle from a re-entrant notification.
+    private volatile @Nullable Thread evaluating = null;
+    private final Observer<Object> dependencyObserver = value -> inputChanged();
+
+    /**
+     * @param compute Computes the value from other subjects, read with {@link Subject#getValue()}.
+     */
+    public Computed(@NonNull Supplier<T> compute) {
+        this.compute = Objects.requireNonNull(compute);
+    }
+
+    @NonNull
+    @Override
+    public Versioned<T> getVersioned() {
+        if (evaluating == Thread.currentThread()) {
+            throw new IllegalStateException("Computed subject reads itself while computing");
+        }
+        if (isStale()) recompute();
+        return super.getVersioned();
+    }
+
+    @Override
+    void refresh() {
+        // Nothing to pull: getVersioned has already brought the value up to date.
+    }
+
+    /**
+     * @return True if the function hasn't run yet, or a dependency has changed since it last did.
+     */
+    private boolean isStale() {
+        var dependencies = this.dependencies;
+        if (dependencies == null) return true;
+        for (var entry : dependencies.entrySet()) {
+            if (entry.getKey().getVersioned().version() != entry.getValue()) return true;
+        }
+        return false;
+    }
+
+    @Override
+    void recompute() {
+        scheduled = false;
+        // A dependency set while we compute (e.g. by an observer of one we just brought up to
+        // date) is picked up by the version check once we're done.
+        if (evaluating == Thread.currentThread()) return;
+        T result;
+        synchronized (activation) {
+            if (!isStale()) return;
+            var frame = DependencyTracker.begin();
+            evaluating = Thread.currentThread();
+            try {
+                result = compute.get();
+            } finally {
+                evaluating = null;
+                DependencyTracker.end(frame);
+            }
+            updateDependencies(frame.reads);
+        }
+        // Notify outside the lock, and without our observers' reads counting as ours (or as
+        // those of a computed subject that is reading us).
+        DependencyTracker.untracked(() -> setValue(result));
+    }
+
+    private void updateDependencies(Map<Subject<?>, Long> reads) {
+        var previous = dependencies;
+        // Newly observed dependencies deliver their current value, which we've just used.
+        connecting = true;
+        try {
+            if (previous != null) {
+                for (var dependency : previous.keySet()) {
+                    if (!reads.containsKey(dependency)) removeSource(dependency);
+                }
+            }
+            for (var dependency : reads.keySet()) {
+                if (previous == null || !previous.containsKey(dependency)) addDependency(dependency);
+            }
+        } finally {
+            connecting = false;
+        }
+        dependencies = Map.copyOf(reads);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S> void addDependency(Subject<S> dependency) {
+        addSource(dependency, (Observer<S>) dependencyObserver);
+    }
+}
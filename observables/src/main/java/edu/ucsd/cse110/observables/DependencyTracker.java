@@ -0,0 +1,86 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records which subjects a {@link Computed} reads while it evaluates.
+ * <p>
+ * Evaluations nest (a computed subject reading another one that has to evaluate first), so each
+ * thread keeps a stack of frames and a read only goes to the innermost one.
+ */
+final class DependencyTracker {
+    // Number of frames open on any thread, so reads can skip the ThreadLocal when it's zero.
+    private static final AtomicInteger openFrames = new AtomicInteger(0);
+    private static final ThreadLocal<Frame> current = new ThreadLocal<>();
+
+    private DependencyTracker() {
+    }
+
+    /**
+     * The subjects read during one evaluation, with the version of the value that was read.
+     */
+    static final class Frame {
+        private final @Nullable Frame parent;
+        final Map<Subject<?>, Long> reads = new LinkedHashMap<>();
+
+        private Frame(@Nullable Frame parent) {
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Start recording reads on this thread. Must be paired with {@link #end}.
+     */
+    static Frame begin() {
+        var frame = new Frame(current.get());
+        current.set(frame);
+        openFrames.incrementAndGet();
+        return frame;
+    }
+
+    /**
+     * Stop recording into the given frame and go back to the one it interrupted, if any.
+     */
+    static void end(Frame frame) {
+        openFrames.decrementAndGet();
+        if (frame.parent == null) {
+            current.remove();
+        } else {
+            current.set(frame.parent);
+        }
+    }
+
+    /**
+     * Run code that may read subjects (e.g. observers being notified) without recording its reads
+     * into the evaluation in progress on this thread.
+     */
+    static void untracked(Runnable block) {
+        if (openFrames.get() == 0 || current.get() == null) {
+            block.run();
+            return;
+        }
+        var frame = begin();
+        try {
+            block.run();
+        } finally {
+            end(frame);
+        }
+    }
+
+    /**
+     * Called by {@link PlainMutableSubject#getValue()}.
+     *
+     * @param subject The subject read.
+     * @param version The version of the value read.
+     */
+    static void read(Subject<?> subject, long version) {
+        if (openFrames.get() == 0) return;
+        var frame = current.get();
+        // Keep the first version read, so a value that changes mid-evaluation counts as stale.
+        if (frame != null) frame.reads.putIfAbsent(subject, version);
+    }
+}
@@ -0,0 +1,29 @@
+package edu.ucsd.cse110.observables;
+
+/**
+ * A registration that can be undone, such as an observer registered with
+ * {@link Subject#subscribe} or {@link Subject#observeWeakly}.
+ * <p>
+ * It is also an {@link AutoCloseable}, so a registration that should only last for a block can
+ * be scoped with try-with-resources. To tie many registrations to a lifecycle (a fragment's view,
+ * say), collect them in a {@link CompositeDisposable}.
+ */
+public interface Disposable extends AutoCloseable {
+    /**
+     * Undo the registration. Does nothing if it was already undone.
+     */
+    void dispose();
+
+    /**
+     * @return True if {@link #dispose()} was called.
+     */
+    boolean isDisposed();
+
+    /**
+     * Same as {@link #dispose()}.
+     */
+    @Override
+    default void close() {
+        dispose();
+    }
+}
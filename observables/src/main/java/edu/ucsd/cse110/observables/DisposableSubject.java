@@ -0,0 +1,13 @@
+package edu.ucsd.cse110.observables;
+
+/**
+ * A subject that stays attached to its source whether or not it is observed itself, such as the
+ * aggregates from {@link Transformations#scan} and {@link Transformations#scanKeyed}.
+ * <p>
+ * {@link #dispose()} detaches it from the source; it then keeps the value it last had. Until
+ * then, the source holds on to it (and everything it references) for as long as the source lives.
+ *
+ * @param <T> The type of the value that the subject holds.
+ */
+public interface DisposableSubject<T> extends Subject<T>, Disposable {
+}
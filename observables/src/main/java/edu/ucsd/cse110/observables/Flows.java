@@ -0,0 +1,245 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bridges between subjects and {@link java.util.concurrent.Flow} publishers and subscribers, so
+ * subjects can be hooked up to code that speaks reactive streams, with backpressure.
+ */
+public class Flows {
+    private Flows() {
+    }
+
+    /**
+     * Same as {@link #toPublisher(Subject, OverflowPolicy)} with {@link OverflowPolicy#latest()}.
+     */
+    public static <T> Flow.Publisher<T> toPublisher(Subject<T> subject) {
+        return toPublisher(subject, OverflowPolicy.latest());
+    }
+
+    /**
+     * Expose a subject as a publisher. Each subscriber observes the subject for as long as it
+     * stays subscribed, starting with the current value if there is one, and gets values only as
+     * fast as it requests them. Values it isn't ready for are held or dropped according to the
+     * given policy, so a slow subscriber never builds up an unbounded backlog.
+     * <p>
+     * Subjects never complete, so neither does the publisher. Null values can't be published
+     * and are skipped.
+     *
+     * @param subject The subject to publish.
+     * @param policy  What to do with values that arrive faster than they're requested.
+     * @param <T>     The type of the values.
+     * @return A publisher of the subject's values.
+     */
+    public static <T> Flow.Publisher<T> toPublisher(Subject<T> subject, OverflowPolicy policy) {
+        Objects.requireNonNull(subject);
+        Objects.requireNonNull(policy);
+        return subscriber -> {
+            var subscription = new SubjectSubscription<>(subject, subscriber, policy);
+            subscriber.onSubscribe(subscription);
+            subscription.start();
+        };
+    }
+
+    /**
+     * Same as {@link #subscribe(Flow.Publisher, MutableSubject, Executor, int)}, setting values
+     * on the publisher's thread, one at a time.
+     */
+    public static <T> Flow.Subscription subscribe(Flow.Publisher<T> publisher, MutableSubject<T> target) {
+        return subscribe(publisher, target, null, 1);
+    }
+
+    /**
+     * Feed a publisher's values into a subject. At most {@code prefetch} values are requested
+     * ahead of the subject, and more are only requested once earlier ones have been set, so a
+     * fast publisher is held back to the pace of the executor instead of queuing up. If several
+     * values arrive before the executor gets around to it, only the latest one is set.
+     * <p>
+     * When the publisher completes or fails, the subject keeps its last value.
+     *
+     * @param publisher The publisher to subscribe to.
+     * @param target    The subject to set.
+     * @param executor  Where to set values, typically the main thread, or null to set them on
+     *                  the publisher's thread.
+     * @param prefetch  How many values to request ahead.
+     * @param <T>       The type of the values.
+     * @return The subscription, to cancel it. Requesting more through it asks the publisher for
+     * more on top of the values requested as they get set.
+     */
+    public static <T> Flow.Subscription subscribe(Flow.Publisher<T> publisher, MutableSubject<T> target,
+                                                  @Nullable Executor executor, int prefetch) {
+        if (prefetch < 1) throw new IllegalArgumentException("prefetch must be at least 1");
+        var subscriber = new SubjectSubscriber<>(target, executor, prefetch);
+        publisher.subscribe(subscriber);
+        return subscriber;
+    }
+
+    // One subscriber's view of a subject: observes it, and hands values over on demand.
+    private static final class SubjectSubscription<T> implements Flow.Subscription, Observer<T> {
+        private final Subject<T> subject;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final OverflowPolicy policy;
+        // Values waiting for demand, guarded by itself.
+        private final ArrayDeque<T> held = new ArrayDeque<>();
+        private final AtomicLong requested = new AtomicLong();
+        // Drain calls in progress or missed, so only one thread calls onNext at a time.
+        private final AtomicInteger draining = new AtomicInteger();
+        private volatile boolean cancelled = false;
+
+        SubjectSubscription(Subject<T> subject, Flow.Subscriber<? super T> subscriber, OverflowPolicy policy) {
+            this.subject = subject;
+            this.subscriber = subscriber;
+            this.policy = policy;
+        }
+
+        void start() {
+            if (!cancelled) subject.observe(this);
+        }
+
+        @Override
+        public void onChanged(@Nullable T value) {
+            if (value == null || cancelled) return;
+            synchronized (held) {
+                if (policy.kind() == OverflowPolicy.Kind.DROP_NEWEST) {
+                    if (held.size() >= Math.min(requested.get(), policy.capacity())) return;
+                } else if (held.size() == policy.capacity()) {
+                    held.poll();
+                }
+                held.add(value);
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) return;
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("request must be positive, was " + n));
+                return;
+            }
+            requested.accumulateAndGet(n, (current, more) -> {
+                long sum = current + more;
+                return sum < 0 ? Long.MAX_VALUE : sum; // saturate on overflow
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            subject.removeObserver(this);
+            synchronized (held) {
+                held.clear();
+            }
+        }
+
+        private void drain() {
+            if (draining.getAndIncrement() != 0) return; // the thread draining will go around again
+            int missed = 1;
+            do {
+                while (!cancelled && requested.get() > 0) {
+                    T next;
+                    synchronized (held) {
+                        next = held.poll();
+                    }
+                    if (next == null) break;
+                    if (requested.get() != Long.MAX_VALUE) requested.decrementAndGet();
+                    try {
+                        subscriber.onNext(next);
+                    } catch (RuntimeException | Error e) {
+                        cancel();
+                        throw e;
+                    }
+                }
+                missed = draining.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    // Sets a subject from a publisher, requesting more as values get set.
+    private static final class SubjectSubscriber<T> implements Flow.Subscriber<T>, Flow.Subscription {
+        private static final Object NONE = new Object();
+
+        private final MutableSubject<T> target;
+        private final @Nullable Executor executor;
+        private final int prefetch;
+        private final AtomicReference<Object> pending = new AtomicReference<>(NONE);
+        // Values received since the last one was set, to be requested again.
+        private final AtomicInteger received = new AtomicInteger();
+        private volatile @Nullable Flow.Subscription upstream = null;
+        private volatile boolean cancelled = false;
+
+        SubjectSubscriber(MutableSubject<T> target, @Nullable Executor executor, int prefetch) {
+            this.target = target;
+            this.executor = executor;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onSubscribe(@NonNull Flow.Subscription subscription) {
+            if (upstream != null || cancelled) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(@NonNull T item) {
+            received.incrementAndGet();
+            if (pending.getAndSet(item) != NONE) return; // already queued, will set the latest
+            if (executor == null) {
+                apply();
+            } else {
+                executor.execute(this::apply);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void apply() {
+            var value = pending.getAndSet(NONE);
+            if (value == NONE || cancelled) return;
+            target.setValue((T) value);
+            var subscription = upstream;
+            int consumed = received.getAndSet(0);
+            if (subscription != null && consumed > 0) subscription.request(consumed);
+        }
+
+        @Override
+        public void onError(@NonNull Throwable throwable) {
+            upstream = null;
+        }
+
+        @Override
+        public void onComplete() {
+            upstream = null;
+        }
+
+        @Override
+        public void request(long n) {
+            // On top of what's requested as values get set.
+            var subscription = upstream;
+            if (subscription != null) subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            var subscription = upstream;
+            upstream = null;
+            if (subscription != null) subscription.cancel();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package edu.ucsd.cse110.observables;
+
+/**
+ * An observer of an {@link IntSubject}. Receives the unboxed value.
+ */
+@FunctionalInterface
+public interface IntObserver {
+    /**
+     * Called when the subject changes with the new value.
+     *
+     * @param value The new value of the subject.
+     */
+    void onChanged(int value);
+}
@@ -0,0 +1,59 @@
+package edu.ucsd.cse110.observables;
+
+/**
+ * A subject holding an {@code int}, without boxing it. Setting a value does not allocate, and
+ * observers are only notified when the value changes.
+ *
+ * @see PrimitiveSubject
+ */
+public class IntSubject extends PrimitiveSubject<IntObserver> {
+    private volatile int value;
+    // The value last delivered, only used by the delivering thread, see deliverLatest()
+    private int delivered;
+    private boolean hasDelivered;
+
+    public IntSubject() {
+    }
+
+    public IntSubject(int initialValue) {
+        this.value = initialValue;
+        this.initialized = true;
+        this.delivered = initialValue;
+        this.hasDelivered = true;
+    }
+
+    /**
+     * @return The current value, or the default value if {@link #isInitialized()} is false.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Sets the value of the subject, notifying observers if it changed.
+     *
+     * @param newValue The new value.
+     */
+    public void setValue(int newValue) {
+        if (initialized && value == newValue) return;
+        value = newValue;
+        if (!initialized) initialized = true;
+        deliverChanges();
+    }
+
+    @Override
+    protected void deliverLatest() {
+        int current = value;
+        if (hasDelivered && current == delivered) return;
+        delivered = current;
+        hasDelivered = true;
+        for (Object observer : observerSnapshot()) {
+            ((IntObserver) observer).onChanged(current);
+        }
+    }
+
+    @Override
+    protected void deliverCurrent(IntObserver observer) {
+        observer.onChanged(value);
+    }
+}
@@ -0,0 +1,91 @@
+package edu.ucsd.cse110.observables;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size histogram of non-negative long values (such as durations in nanoseconds), in the
+ * style of HdrHistogram: buckets are exact up to 32 and then log-linear, 16 per power of two,
+ * so any recorded value is known to within about 6%.
+ * <p>
+ * Recording is lock-free and never allocates. Reads are not atomic with respect to concurrent
+ * recording, which is fine for monitoring.
+ */
+public final class LatencyHistogram {
+    private static final int EXACT = 32;          // values below this get a bucket each
+    private static final int SUB_BUCKETS = EXACT / 2; // buckets per power of two above that
+    private static final int SUB_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+    private static final int BUCKETS = EXACT + (63 - SUB_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a value. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(indexOf(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax;
+        while (value > (currentMax = max.get()) && !max.compareAndSet(currentMax, value)) {
+            // retry
+        }
+    }
+
+    public long getTotalCount() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long count = total.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * @param percentile Between 0 and 100.
+     * @return The smallest value that at least that percentage of recorded values are at or below,
+     * rounded up to its bucket (but never above the maximum recorded), or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = total.get();
+        if (count == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) return Math.min(highestValueIn(i), max.get());
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    static int indexOf(long value) {
+        if (value < EXACT) return (int) value;
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BITS;
+        int mantissa = (int) (value >>> shift); // in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        return EXACT + (shift - 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+
+    static long highestValueIn(int index) {
+        if (index < EXACT) return index;
+        int offset = index - EXACT;
+        int shift = offset / SUB_BUCKETS + 1;
+        long mantissa = offset % SUB_BUCKETS + SUB_BUCKETS;
+        long next = (mantissa + 1) << shift;
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
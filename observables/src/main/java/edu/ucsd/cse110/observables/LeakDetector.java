@@ -0,0 +1,83 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * {@link SubjectMetrics} that reports subjects whose number of observers keeps growing, the usual
+ * sign of observers that are registered over and over and never removed.
+ * <p>
+ * A subject is reported when its observer count first reaches the threshold, then again each
+ * time it doubles: a leak is reported a handful of times over a long session, not on every
+ * registration. Subjects are held weakly, so watching them doesn't keep them alive.
+ * <p>
+ * Typical use, in a debug build:
+ * <pre>{@code
+ * Subjects.setMetrics(new LeakDetector(32, (subject, name, observers) ->
+ *         Log.w(TAG, name + " has " + observers + " observers")));
+ * }</pre>
+ */
+public class LeakDetector implements SubjectMetrics {
+    private final int threshold;
+    private final Reporter reporter;
+    private final @Nullable SubjectMetrics delegate;
+    // Observer count at which each subject is reported next.
+    private final Map<Subject<?>, Integer> nextReport = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @param threshold The observer count at which a subject is first reported.
+     * @param reporter  Called for every report, on the thread that registered the observer.
+     */
+    public LeakDetector(int threshold, @NonNull Reporter reporter) {
+        this(threshold, reporter, null);
+    }
+
+    /**
+     * @param threshold The observer count at which a subject is first reported.
+     * @param reporter  Called for every report, on the thread that registered the observer.
+     * @param delegate  Other metrics to pass every callback on to, such as a
+     *                  {@link RecordingSubjectMetrics}, or null.
+     */
+    public LeakDetector(int threshold, @NonNull Reporter reporter, @Nullable SubjectMetrics delegate) {
+        if (threshold <= 0) throw new IllegalArgumentException("threshold must be positive");
+        this.threshold = threshold;
+        this.reporter = reporter;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onDispatch(@NonNull Subject<?> subject, int observers, long nanos) {
+        if (delegate != null) delegate.onDispatch(subject, observers, nanos);
+    }
+
+    @Override
+    public void onObserversChanged(@NonNull Subject<?> subject, int observers) {
+        if (delegate != null) delegate.onObserversChanged(subject, observers);
+        if (observers < threshold) return;
+
+        boolean report;
+        synchronized (nextReport) {
+            int next = nextReport.getOrDefault(subject, threshold);
+            report = observers >= next;
+            if (report) nextReport.put(subject, Math.max(next, observers) * 2);
+        }
+        if (report) reporter.onSuspectedLeak(subject, RecordingSubjectMetrics.nameOf(subject), observers);
+    }
+
+    /**
+     * Receives the reports of a {@link LeakDetector}.
+     */
+    @FunctionalInterface
+    public interface Reporter {
+        /**
+         * @param subject   The subject whose observers keep growing.
+         * @param name      Its name, or its class and identity if it has none.
+         * @param observers How many observers it has now.
+         */
+        void onSuspectedLeak(@NonNull Subject<?> subject, @NonNull String name, int observers);
+    }
+}
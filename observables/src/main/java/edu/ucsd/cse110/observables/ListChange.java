@@ -0,0 +1,58 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * A single structural change to an {@link ObservableList}, covering a contiguous range.
+ * <p>
+ * Each change carries the elements it affects, so a consumer can keep a mirror of the list
+ * (an adapter's copy, say) in sync with {@link #applyTo} without reading the list itself.
+ *
+ * @param kind    What happened to the range.
+ * @param index   The first index of the range (for {@link Kind#MOVE}, where the element was).
+ * @param toIndex For {@link Kind#MOVE}, where the element is now; otherwise the same as index.
+ * @param items   The inserted elements, the removed elements, the new values of the changed
+ *                elements, or the moved element.
+ * @param <T>     The type of the elements.
+ */
+public record ListChange<T>(@NonNull Kind kind, int index, int toIndex, @NonNull List<T> items) {
+    public enum Kind {
+        /** Elements were inserted at index. */
+        INSERT,
+        /** Elements were removed from index. */
+        REMOVE,
+        /** One element was moved from index to toIndex. */
+        MOVE,
+        /** Elements starting at index were replaced by new values. */
+        CHANGE
+    }
+
+    /**
+     * @return The number of elements in the range.
+     */
+    public int count() {
+        return items.size();
+    }
+
+    /**
+     * Apply this change to a list that held the same elements as the observable list did
+     * just before the change.
+     *
+     * @param mirror The list to update.
+     */
+    public void applyTo(@NonNull List<? super T> mirror) {
+        switch (kind) {
+            case INSERT -> mirror.addAll(index, items);
+            case REMOVE -> mirror.subList(index, index + items.size()).clear();
+            case MOVE -> {
+                mirror.remove(index);
+                mirror.add(toIndex, items.get(0));
+            }
+            case CHANGE -> {
+                for (int i = 0; i < items.size(); i++) mirror.set(index + i, items.get(i));
+            }
+        }
+    }
+}
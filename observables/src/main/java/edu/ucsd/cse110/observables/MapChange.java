@@ -0,0 +1,25 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A single change to an {@link ObservableMap}.
+ *
+ * @param kind     What happened to the key.
+ * @param key      The key that changed.
+ * @param oldValue The value before the change, or null if the key was just added.
+ * @param newValue The value after the change, or null if the key was removed.
+ * @param <K>      The type of the keys.
+ * @param <V>      The type of the values.
+ */
+public record MapChange<K, V>(@NonNull Kind kind, K key, @Nullable V oldValue, @Nullable V newValue) {
+    public enum Kind {
+        /** A key that wasn't in the map was added. */
+        PUT,
+        /** The value of a key already in the map was replaced. */
+        UPDATE,
+        /** A key was removed. */
+        REMOVE
+    }
+}
@@ -15,4 +15,23 @@ public interface MutableSubject<T> extends Subject<T> {
      * @param newValue The new value.
      */
     void setValue(T newValue);
+
+    /**
+     * Sets the value only if the subject is still at the given version, that is, if nothing has
+     * been written since it was read with {@link #getVersioned()}. This allows optimistic
+     * read-modify-write from any thread without a lock: read, compute, then retry if this fails.
+     *
+     * @param newValue        The new value.
+     * @param expectedVersion The version the new value was computed from.
+     * @return True if the value was set, false if another write got in first.
+     */
+    boolean setValueIfVersion(T newValue, long expectedVersion);
+
+    /**
+     * Sets the value of the subject from any thread. If several values are posted before the
+     * update runs, only the last one is applied.
+     *
+     * @param newValue The new value.
+     */
+    void postValue(T newValue);
 }
\ No newline at end of file
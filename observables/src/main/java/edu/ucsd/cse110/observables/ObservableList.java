@@ -0,0 +1,172 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An array-backed list that reports every structural change as a {@link ListChange}, so that
+ * consumers can update incrementally instead of rebuilding from the whole list.
+ * <p>
+ * Bulk operations report one change for the whole range: {@code addAll} is a single insert,
+ * {@code clear} and {@code subList(...).clear()} a single removal, and {@code sort} a single
+ * change of the whole list. Use {@link #move} rather than two {@code set}s to reorder elements.
+ * <p>
+ * Like {@link ArrayList}, this list is not thread safe.
+ *
+ * @param <T> The type of the elements.
+ */
+public class ObservableList<T> extends AbstractList<T> implements RandomAccess {
+    private final ArrayList<T> elements;
+    private final ObserverRegistry<ListChange<T>> changeObservers = new ObserverRegistry<>();
+
+    public ObservableList() {
+        this.elements = new ArrayList<>();
+    }
+
+    public ObservableList(@NonNull Collection<? extends T> initial) {
+        this.elements = new ArrayList<>(initial);
+    }
+
+    @Override
+    public T get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        var previous = elements.set(index, element);
+        publish(new ListChange<>(ListChange.Kind.CHANGE, index, index, Collections.singletonList(element)));
+        return previous;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        elements.add(index, element);
+        modCount++;
+        publish(new ListChange<>(ListChange.Kind.INSERT, index, index, Collections.singletonList(element)));
+    }
+
+    @Override
+    public boolean addAll(int index, @NonNull Collection<? extends T> collection) {
+        if (collection.isEmpty()) return false;
+        elements.addAll(index, collection);
+        modCount++;
+        if (isObserved()) {
+            var items = copyOf(elements.subList(index, index + collection.size()));
+            publish(new ListChange<>(ListChange.Kind.INSERT, index, index, items));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(@NonNull Collection<? extends T> collection) {
+        return addAll(elements.size(), collection);
+    }
+
+    @Override
+    public T remove(int index) {
+        var removed = elements.remove(index);
+        modCount++;
+        publish(new ListChange<>(ListChange.Kind.REMOVE, index, index, Collections.singletonList(removed)));
+        return removed;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) return;
+        var range = elements.subList(fromIndex, toIndex);
+        var removed = isObserved() ? copyOf(range) : null;
+        range.clear();
+        modCount++;
+        if (removed != null) publish(new ListChange<>(ListChange.Kind.REMOVE, fromIndex, fromIndex, removed));
+    }
+
+    @Override
+    public void clear() {
+        removeRange(0, elements.size());
+    }
+
+    @Override
+    public void sort(@Nullable Comparator<? super T> comparator) {
+        elements.sort(comparator);
+        modCount++;
+        if (!elements.isEmpty() && isObserved()) {
+            publish(new ListChange<>(ListChange.Kind.CHANGE, 0, 0, copyOf(elements)));
+        }
+    }
+
+    /**
+     * Move the element at one index to another, shifting the elements in between by one.
+     *
+     * @param fromIndex Where the element is.
+     * @param toIndex   Where the element should end up.
+     */
+    public void move(int fromIndex, int toIndex) {
+        Objects.checkIndex(fromIndex, elements.size());
+        Objects.checkIndex(toIndex, elements.size());
+        if (fromIndex == toIndex) return;
+        var element = elements.remove(fromIndex);
+        elements.add(toIndex, element);
+        modCount++;
+        publish(new ListChange<>(ListChange.Kind.MOVE, fromIndex, toIndex, Collections.singletonList(element)));
+    }
+
+    /**
+     * Register an observer to be notified of every change, right after it is made (even when the
+     * change is made from inside a subject observer). Unlike subjects, nothing is delivered on
+     * registration.
+     */
+    public Observer<ListChange<T>> observeChanges(@NonNull Observer<ListChange<T>> observer) {
+        changeObservers.add(observer, null);
+        return observer;
+    }
+
+    public void removeChangeObserver(@NonNull Observer<ListChange<T>> observer) {
+        changeObservers.remove(observer);
+    }
+
+    /**
+     * Run a block and collect the changes it makes to this list, in order.
+     *
+     * @param block The code that changes this list.
+     * @return The changes made, which can be replayed on a mirror with {@link ListChange#applyTo}.
+     */
+    public List<ListChange<T>> recordChanges(@NonNull Runnable block) {
+        List<ListChange<T>> changes = new ArrayList<>();
+        Observer<ListChange<T>> recorder = changes::add;
+        observeChanges(recorder);
+        try {
+            block.run();
+        } finally {
+            removeChangeObserver(recorder);
+        }
+        return changes;
+    }
+
+    private boolean isObserved() {
+        return !changeObservers.isEmpty();
+    }
+
+    private void publish(ListChange<T> change) {
+        if (isObserved()) changeObservers.dispatch(change);
+    }
+
+    // Unlike List.copyOf, allows null elements.
+    private static <T> List<T> copyOf(List<T> range) {
+        return Collections.unmodifiableList(new ArrayList<>(range));
+    }
+}
@@ -0,0 +1,271 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map that can be observed at three levels of detail:
+ * <ul>
+ *     <li>{@link #observeChanges} reports every put, update and removal as a {@link MapChange};</li>
+ *     <li>{@link #subject(Object)} is a subject for the value of a single key, created the
+ *     first time it is asked for;</li>
+ *     <li>{@link #asSubject()} is a subject for the whole map, holding {@link #snapshot()}s.</li>
+ * </ul>
+ * <p>
+ * Snapshots are copy-on-write: taking one is constant time and shares the map's storage, and
+ * only the first write after a snapshot was taken pays for copying it. Writing to a map that
+ * nobody has taken a snapshot of never copies anything.
+ * <p>
+ * The per-key subjects are written under the map's lock, in the same order as the map itself, and
+ * notify their observers once it is released, so when several threads write the same key, the
+ * subject ends up with the value the map ends up with. The whole-map subject only notes that the
+ * map changed, and takes a single snapshot when its notification goes out, so a
+ * {@link Subjects#batch} of writes pays for at most one copy however many writes it holds.
+ * Per-key subjects are only kept while something references them, so asking for keys that are
+ * never written doesn't pile them up.
+ * <p>
+ * Entries keep insertion order. Null values are not allowed, as subjects can't hold them.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public class ObservableMap<K, V> {
+    private Map<K, V> entries = new LinkedHashMap<>();
+    // Read-only view of entries handed out by snapshot(); entries is copied before the next write.
+    private @Nullable Map<K, V> sharedView = null;
+    private long writes = 0;
+    private long copies = 0;
+
+    // Per-key subjects, held weakly so unused ones can be collected, and strongly while observed
+    private final Map<K, KeyRef<K, V>> keySubjects = new HashMap<>();
+    private final ReferenceQueue<PlainMutableSubject<V>> collectedKeySubjects = new ReferenceQueue<>();
+    private final Set<KeySubject> observedKeySubjects = new HashSet<>();
+    private final ObserverRegistry<MapChange<K, V>> changeObservers = new ObserverRegistry<>();
+    private final SnapshotSubject snapshots = new SnapshotSubject();
+
+    /**
+     * Associate the value with the key, notifying observers of the key, of the whole map, and of
+     * changes (in that order). Change observers are always called before this returns; subject
+     * observers may be called later if this is itself called from an observer (see
+     * {@link Subjects#dispatch}).
+     *
+     * @return The previous value, or null if the key wasn't in the map.
+     */
+    @Nullable
+    public V put(@NonNull K key, @NonNull V value) {
+        Objects.requireNonNull(value, "ObservableMap does not allow null values");
+        // Notifications are deferred to the end of the batch, after the lock is released
+        V previous = Subjects.batched(() -> {
+            synchronized (this) {
+                beforeWrite();
+                V replaced = entries.put(key, value);
+                var keySubject = keySubject(key);
+                if (keySubject != null) keySubject.setValue(value);
+                snapshots.changed();
+                return replaced;
+            }
+        });
+        var kind = previous == null ? MapChange.Kind.PUT : MapChange.Kind.UPDATE;
+        changeObservers.dispatch(new MapChange<>(kind, key, previous, value));
+        return previous;
+    }
+
+    /**
+     * Remove the key, if present. The subject for the key (if any) keeps its last value.
+     *
+     * @return The removed value, or null if the key wasn't in the map.
+     */
+    @Nullable
+    public V remove(@NonNull K key) {
+        V previous = Subjects.batched(() -> {
+            synchronized (this) {
+                if (!entries.containsKey(key)) return null;
+                beforeWrite();
+                V removed = entries.remove(key);
+                snapshots.changed();
+                return removed;
+            }
+        });
+        if (previous == null) return null;
+        changeObservers.dispatch(new MapChange<>(MapChange.Kind.REMOVE, key, previous, null));
+        return previous;
+    }
+
+    @Nullable
+    public synchronized V get(@NonNull K key) {
+        return entries.get(key);
+    }
+
+    public synchronized boolean containsKey(@NonNull K key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * @return An unmodifiable map of the current entries, unaffected by later writes.
+     * Constant time: the copy is made by the next write, and only if there is one.
+     */
+    @NonNull
+    public synchronized Map<K, V> snapshot() {
+        if (sharedView == null) sharedView = Collections.unmodifiableMap(entries);
+        return sharedView;
+    }
+
+    /**
+     * Get the subject holding the value of a single key. It is uninitialized until the key is
+     * put, and keeps its last value if the key is removed.
+     *
+     * @param key The key to observe.
+     * @return The subject for that key; asking again for the same key returns the same subject,
+     * as long as the first one is still referenced or observed.
+     */
+    @NonNull
+    public synchronized Subject<V> subject(@NonNull K key) {
+        var subject = keySubject(key);
+        if (subject == null) {
+            subject = new KeySubject();
+            var value = entries.get(key);
+            if (value != null) subject.setValue(value);
+            keySubjects.put(key, new KeyRef<>(key, subject, collectedKeySubjects));
+        }
+        return subject;
+    }
+
+    /**
+     * @return How many times the entries were copied because of a snapshot, for tests.
+     */
+    synchronized long copyCount() {
+        return copies;
+    }
+
+    /**
+     * @return How many per-key subjects are kept, for tests.
+     */
+    synchronized int keySubjectCount() {
+        expungeKeySubjects();
+        return keySubjects.size();
+    }
+
+    // The subject for a key, if there is one. Called with the lock held.
+    @Nullable
+    private PlainMutableSubject<V> keySubject(K key) {
+        expungeKeySubjects();
+        var ref = keySubjects.get(key);
+        return ref == null ? null : ref.get();
+    }
+
+    // Forget the keys whose subjects have been collected. Called with the lock held.
+    @SuppressWarnings("unchecked")
+    private void expungeKeySubjects() {
+        KeyRef<K, V> ref;
+        while ((ref = (KeyRef<K, V>) collectedKeySubjects.poll()) != null) {
+            keySubjects.remove(ref.key, ref);
+        }
+    }
+
+    /**
+     * @return A subject holding {@link #snapshot()}s of the whole map. It is uninitialized until
+     * the map is first written to, and only takes snapshots while it is observed.
+     */
+    @NonNull
+    public Subject<Map<K, V>> asSubject() {
+        return snapshots;
+    }
+
+    /**
+     * Register an observer to be notified of every change, after the per-key and whole-map
+     * subjects have been updated. Unlike subjects, nothing is delivered on registration.
+     */
+    public Observer<MapChange<K, V>> observeChanges(@NonNull Observer<MapChange<K, V>> observer) {
+        changeObservers.add(observer, null);
+        return observer;
+    }
+
+    public void removeChangeObserver(@NonNull Observer<MapChange<K, V>> observer) {
+        changeObservers.remove(observer);
+    }
+
+    // Called with the lock held.
+    private void beforeWrite() {
+        writes++;
+        if (sharedView == null) return;
+        entries = new LinkedHashMap<>(entries);
+        sharedView = null;
+        copies++;
+    }
+
+    // The current snapshot, versioned by the number of writes so far.
+    private synchronized Versioned<Map<K, V>> versionedSnapshot() {
+        return writes == 0 ? Versioned.uninitialized() : new Versioned<>(snapshot(), writes);
+    }
+
+    // Whole-map subject that pulls a snapshot when read, and only takes one to notify its observers
+    // once the batch a write is part of closes.
+    private final class SnapshotSubject extends PlainMutableSubject<Map<K, V>> {
+        @NonNull
+        @Override
+        public Versioned<Map<K, V>> getVersioned() {
+            return versionedSnapshot();
+        }
+
+        @Override
+        protected void onActive() {
+            if (isInitialized()) setValue(snapshot());
+        }
+
+        // Called with the lock held, always inside a batch (see put and remove). Only the first
+        // write of the batch adds this to its pending subjects; the rest are no-ops.
+        void changed() {
+            if (hasObservers()) Subjects.defer(this, super.getVersioned());
+        }
+
+        // Called when the batch closes: snapshot the map as it is now and notify.
+        @Override
+        void publish(Versioned<Map<K, V>> previous) {
+            if (hasObservers()) setValue(snapshot());
+        }
+    }
+
+    // Per-key subject that holds on to itself while observed, so it keeps being updated.
+    private final class KeySubject extends PlainMutableSubject<V> {
+        @Override
+        protected void onActive() {
+            synchronized (ObservableMap.this) {
+                observedKeySubjects.add(this);
+            }
+        }
+
+        @Override
+        protected void onInactive() {
+            synchronized (ObservableMap.this) {
+                observedKeySubjects.remove(this);
+            }
+        }
+    }
+
+    private static final class KeyRef<K, V> extends WeakReference<PlainMutableSubject<V>> {
+        final K key;
+
+        KeyRef(K key, PlainMutableSubject<V> subject, ReferenceQueue<PlainMutableSubject<V>> queue) {
+            super(subject, queue);
+            this.key = key;
+        }
+    }
+}
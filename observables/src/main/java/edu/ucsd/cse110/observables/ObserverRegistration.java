@@ -0,0 +1,27 @@
+package edu.ucsd.cse110.observables;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An observer registered on a subject, undone by {@link #dispose()}, see {@link Subject#subscribe}.
+ */
+final class ObserverRegistration<T> implements Disposable {
+    private final Subject<T> subject;
+    private final Observer<T> observer;
+    private final AtomicBoolean disposed = new AtomicBoolean(false);
+
+    ObserverRegistration(Subject<T> subject, Observer<T> observer) {
+        this.subject = subject;
+        this.observer = observer;
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed.compareAndSet(false, true)) subject.removeObserver(observer);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed.get();
+    }
+}
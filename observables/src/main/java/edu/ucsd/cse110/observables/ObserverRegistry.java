@@ -0,0 +1,142 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The set of observers registered on a single subject.
+ * <p>
+ * Registration and removal are constant time (hash lookup into an insertion-ordered map), and
+ * observers are always notified in the order they were registered. Notification walks a cached
+ * snapshot array, so a {@code setValue} with no concurrent registration changes does not allocate.
+ * The snapshot is only rebuilt on the first dispatch after the set of observers changed.
+ * <p>
+ * An observer removed while a dispatch is in progress is not called by that dispatch, even if
+ * it is still in the snapshot being walked.
+ * <p>
+ * An observer registered with an {@link Executor} is called on that executor instead of on the
+ * notifying thread. Its deliveries are conflated: if it has not yet run by the time the next
+ * value arrives, it is only called once, with the latest value.
+ *
+ * @param <T> The type of the values observed.
+ */
+final class ObserverRegistry<T> {
+    @SuppressWarnings("rawtypes")
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private final Map<Observer<T>, Entry<T>> entries = new LinkedHashMap<>();
+
+    // Null whenever entries has changed since the last dispatch.
+    private volatile @Nullable Entry<T>[] snapshot = emptySnapshot();
+
+    /**
+     * @param executor Where to call the observer, or null to call it on the notifying thread.
+     * @return The new registration, or null if the observer was already registered.
+     */
+    synchronized @Nullable Entry<T> add(@NonNull Observer<T> observer, @Nullable Executor executor) {
+        if (entries.containsKey(observer)) return null;
+        var entry = new Entry<>(observer, executor);
+        entries.put(observer, entry);
+        snapshot = null;
+        return entry;
+    }
+
+    /**
+     * @return True if the observer was registered and has now been removed.
+     */
+    synchronized boolean remove(@NonNull Observer<T> observer) {
+        var entry = entries.remove(observer);
+        if (entry == null) return false;
+        entry.active = false;
+        snapshot = null;
+        return true;
+    }
+
+    synchronized void clear() {
+        for (var entry : entries.values()) entry.active = false;
+        entries.clear();
+        snapshot = emptySnapshot();
+    }
+
+    synchronized boolean contains(@NonNull Observer<T> observer) {
+        return entries.containsKey(observer);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return A copy of the registered observers, in registration order.
+     */
+    synchronized List<Observer<T>> toList() {
+        return List.copyOf(entries.keySet());
+    }
+
+    /**
+     * Notify every registered observer of the given value, in registration order.
+     */
+    void dispatch(@Nullable T value) {
+        for (var entry : snapshot()) {
+            if (entry.active) entry.deliver(value);
+        }
+    }
+
+    private Entry<T>[] snapshot() {
+        var current = snapshot;
+        if (current != null) return current;
+        synchronized (this) {
+            if (snapshot == null) snapshot = entries.values().toArray(emptySnapshot());
+            return snapshot;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T>[] emptySnapshot() {
+        return (Entry<T>[]) EMPTY;
+    }
+
+    // One registration. Flagged inactive on removal so in-flight snapshots skip it.
+    static final class Entry<T> {
+        // Marks an empty pending slot, since null is a legal value to deliver.
+        private static final Object NONE = new Object();
+
+        final Observer<T> observer;
+        final @Nullable Executor executor;
+        // Latest value not yet delivered on the executor (unused without an executor).
+        private final @Nullable AtomicReference<Object> pending;
+        volatile boolean active = true;
+
+        Entry(Observer<T> observer, @Nullable Executor executor) {
+            this.observer = observer;
+            this.executor = executor;
+            this.pending = executor == null ? null : new AtomicReference<>(NONE);
+        }
+
+        void deliver(@Nullable T value) {
+            if (executor == null || pending == null) {
+                observer.onChanged(value);
+                return;
+            }
+            // Only schedule a drain if one is not already queued; otherwise it will pick this up.
+            if (pending.getAndSet(value) == NONE) executor.execute(this::drain);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            var value = pending.getAndSet(NONE);
+            if (value == NONE || !active) return;
+            observer.onChanged((T) value);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+/**
+ * What a {@link Flows#toPublisher publisher} made from a subject does with values that arrive
+ * faster than its subscriber requests them. Subjects can't be slowed down, so something has to
+ * give; every policy keeps a fixed number of values per subscriber at most.
+ *
+ * @param kind     What to do when the subscriber hasn't asked for more.
+ * @param capacity How many values to hold for the subscriber.
+ */
+public record OverflowPolicy(@NonNull Kind kind, int capacity) {
+    public enum Kind {
+        /** Hold up to {@code capacity} values, dropping the oldest one to make room. */
+        DROP_OLDEST,
+        /** Only take a value if the subscriber already asked for it, otherwise drop it. */
+        DROP_NEWEST
+    }
+
+    public OverflowPolicy {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+    }
+
+    /**
+     * Hold on to the latest value only, and hand it over when the subscriber asks for more.
+     * This is what you want for state, where only the current value matters.
+     */
+    public static OverflowPolicy latest() {
+        return new OverflowPolicy(Kind.DROP_OLDEST, 1);
+    }
+
+    /**
+     * Drop every value that arrives while the subscriber has no outstanding demand.
+     */
+    public static OverflowPolicy drop() {
+        return new OverflowPolicy(Kind.DROP_NEWEST, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Hold up to the given number of values for the subscriber, dropping the oldest when full.
+     *
+     * @param capacity The most values to hold.
+     */
+    public static OverflowPolicy buffer(int capacity) {
+        return new OverflowPolicy(Kind.DROP_OLDEST, capacity);
+    }
+}
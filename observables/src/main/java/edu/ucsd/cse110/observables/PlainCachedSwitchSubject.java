@@ -0,0 +1,118 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A subject that follows the inner subject picked by a trigger's value, like
+ * {@link Transformations#switchMap}, but remembers the inner subjects of the most recently used
+ * trigger values, created by {@link Transformations#switchMap(Subject, Function, int)}.
+ * <p>
+ * Switching back to a remembered trigger value reuses its inner subject instead of asking the
+ * switcher for a new one. While this subject is observed, the inner subjects switched to are kept
+ * observed too, so they stay warm (a derived inner subject doesn't disconnect from its own sources
+ * and recompute when switched back to). Inner subjects that fall out of the cache, and all of them
+ * once this subject is no longer observed, are let go. When it is observed again, only the
+ * current inner subject is warmed up; the others are as they are switched back to. To keep the
+ * whole cache warm across screens, keep this subject observed for as long as the cache is useful.
+ *
+ * @param <K> The type of the trigger values.
+ * @param <R> The type of the values.
+ */
+final class PlainCachedSwitchSubject<K, R> extends PlainMediatorSubject<R> {
+    private final Function<? super K, ? extends Subject<R>> switcher;
+    // Most recently used last. Guarded by activation.
+    private final Map<K, Subject<R>> cache;
+    // Keeps the cached inner subjects observed while this subject is. Does nothing itself.
+    private final Observer<R> keepWarm = value -> { };
+    // The cached inner subjects keepWarm is registered with. Guarded by activation.
+    private final Set<Subject<R>> warmed = new HashSet<>();
+    private @Nullable Subject<R> current = null;
+    private boolean warm = false;
+    private boolean pulling = false;
+
+    PlainCachedSwitchSubject(Subject<K> trigger, Function<? super K, ? extends Subject<R>> switcher, int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        this.switcher = switcher;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Subject<R>> eldest) {
+                if (size() <= capacity) return false;
+                if (warmed.remove(eldest.getValue())) eldest.getValue().removeObserver(keepWarm);
+                return true;
+            }
+        };
+        addSource(trigger, this::triggerChanged);
+    }
+
+    private void triggerChanged(@Nullable K key) {
+        Subject<R> inner;
+        synchronized (activation) {
+            inner = cache.get(key);
+        }
+        // Ask the switcher outside the lock, it is caller code.
+        var created = inner == null ? switcher.apply(key) : null;
+        synchronized (activation) {
+            if (created != null) {
+                inner = cache.get(key);
+                if (inner == null) {
+                    inner = created;
+                    cache.put(key, inner);
+                }
+            }
+            if (warm) keepWarm(inner);
+            if (inner == current) return;
+            if (current != null) removeSource(current);
+            current = inner;
+            addSource(inner, this::setValue);
+        }
+    }
+
+    @Override
+    void refresh() {
+        synchronized (activation) {
+            // A pull only needs the current inner subject, not the whole cache warmed up.
+            pulling = true;
+            try {
+                super.refresh();
+            } finally {
+                pulling = false;
+            }
+        }
+    }
+
+    @Override
+    protected void onActive() {
+        super.onActive();
+        if (pulling) return;
+        warm = true;
+        synchronized (activation) {
+            if (current != null) keepWarm(current);
+        }
+    }
+
+    @Override
+    protected void onInactive() {
+        super.onInactive();
+        if (!warm) return;
+        warm = false;
+        List<Subject<R>> cooling;
+        synchronized (activation) {
+            cooling = new ArrayList<>(warmed);
+            warmed.clear();
+        }
+        for (var inner : cooling) inner.removeObserver(keepWarm);
+    }
+
+    // Called with activation held.
+    private void keepWarm(Subject<R> inner) {
+        if (warmed.add(inner)) inner.observe(keepWarm);
+    }
+}
@@ -0,0 +1,38 @@
+package edu.ucsd.cse110.observables;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A subject computed from the latest values of several input subjects, created by
+ * {@link Transformations#combine}.
+ * <p>
+ * Recomputation is glitch-free, see {@link PlainDerivedSubject}.
+ * <p>
+ * No value is emitted until every input has been initialized.
+ *
+ * @param <T> The type of the combined value.
+ */
+class PlainCombinedSubject<T> extends PlainDerivedSubject<T> {
+    private final List<? extends Subject<?>> inputs;
+    private final Supplier<T> combiner;
+
+    PlainCombinedSubject(List<? extends Subject<?>> inputs, Supplier<T> combiner) {
+        this.inputs = List.copyOf(inputs);
+        this.combiner = combiner;
+        for (var input : this.inputs) addInput(input);
+    }
+
+    private <S> void addInput(Subject<S> input) {
+        addSource(input, value -> inputChanged());
+    }
+
+    @Override
+    void recompute() {
+        scheduled = false;
+        for (var input : inputs) {
+            if (!input.isInitialized()) return;
+        }
+        setValue(combiner.get());
+    }
+}
@@ -0,0 +1,43 @@
+package edu.ucsd.cse110.observables;
+
+/**
+ * A mediator that recomputes its value from its sources as a whole, rather than reacting to each
+ * source separately: {@link PlainCombinedSubject} and {@link Computed}.
+ * <p>
+ * Recomputation is glitch-free: when one upstream change reaches this subject through several
+ * paths (a "diamond"), it is recomputed once, after all of its sources have been updated, rather
+ * than once per path with some sources still stale. See {@link Subjects#dispatch}.
+ *
+ * @param <T> The type of the derived value.
+ */
+abstract class PlainDerivedSubject<T> extends PlainMediatorSubject<T> {
+    // Set while queued for recomputation, see Subjects#schedule.
+    volatile boolean scheduled = false;
+    // Set while sources are being observed, to ignore the current values they deliver.
+    boolean connecting = false;
+
+    /**
+     * Call from the observer of every source.
+     */
+    void inputChanged() {
+        if (connecting) return;
+        if (!Subjects.schedule(this)) recompute();
+    }
+
+    /**
+     * Compute and set the value. Must clear {@link #scheduled}.
+     */
+    abstract void recompute();
+
+    @Override
+    protected void onActive() {
+        // Every source delivers its current value as we connect; compute once after that instead.
+        connecting = true;
+        try {
+            super.onActive();
+        } finally {
+            connecting = false;
+        }
+        recompute();
+    }
+}
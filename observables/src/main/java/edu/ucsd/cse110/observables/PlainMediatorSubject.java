@@ -1,28 +1,119 @@
 package edu.ucsd.cse110.observables;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.function.Predicate;
 
+/**
+ * A subject whose value is derived from other (source) subjects.
+ * <p>
+ * Sources are only observed while this subject is observed itself: the mediator connects to all
+ * of its sources when it gains its first observer, and disconnects when the last one leaves. An
+ * unobserved derived subject therefore doesn't keep the subjects it was derived from busy, and
+ * can be garbage collected as soon as nobody references it.
+ * <p>
+ * Reading {@link #getValue()} while unobserved still returns an up-to-date value: the mediator
+ * briefly connects to its sources so they can deliver their current values, then disconnects.
+ * It only does so if a source has been written since the last such pull, so reading again with
+ * nothing changed upstream returns the same {@link Versioned} rather than a new version.
+ *
+ * @param <T> The type of the value that the subject holds.
+ */
 public class PlainMediatorSubject<T> extends PlainMutableSubject<T> implements MediatorSubject<T> {
 
     private final Queue<Source<?>> sources = new ConcurrentLinkedQueue<>();
+    private volatile boolean connected = false;
+    // Longest path from a plain (non-derived) subject, used to order glitch-free recomputation.
+    private volatile int rank = 0;
+    // Versions of the sources before the last pull, or null if the value may be out of date.
+    private volatile @Nullable long[] pulledVersions = null;
 
     @Override
     public <S> void addSource(Subject<S> subject, Observer<S> observer) {
         var source = new Source<>(subject, observer);
-        if (sources.contains(source)) return;
-        sources.add(source);
-        source.startObserving();
+        synchronized (activation) {
+            if (sources.contains(source)) return;
+            sources.add(source);
+            if (subject instanceof PlainMediatorSubject<?> mediator) {
+                rank = Math.max(rank, mediator.rank + 1);
+            } else {
+                rank = Math.max(rank, 1);
+            }
+            if (connected) source.startObserving();
+        }
     }
 
     @Override
     public <S> void removeSource(Subject<S> subject) {
-        sources.stream().filter(s -> s.subject.equals(subject)).forEach(Source::stopObserving);
-        sources.removeIf(s -> s.subject.equals(subject));
+        synchronized (activation) {
+            if (connected) {
+                sources.stream().filter(s -> s.subject.equals(subject)).forEach(Source::stopObserving);
+            }
+            sources.removeIf(s -> s.subject.equals(subject));
+        }
+    }
+
+    /**
+     * @return The length of the longest chain of derived subjects from a plain subject to this
+     * one. Sources added later (e.g. by switchMap) can only raise it.
+     */
+    int rank() {
+        return rank;
+    }
+
+    @NonNull
+    @Override
+    public Versioned<T> getVersioned() {
+        if (!connected && !sources.isEmpty()) refresh();
+        return super.getVersioned();
+    }
+
+    /**
+     * Bring the value up to date while nobody is keeping it up to date, by pulling the current
+     * values through the sources.
+     */
+    void refresh() {
+        synchronized (activation) {
+            // Check again under the lock, in case an observer connected us in the meantime.
+            if (connected) return;
+            // Read before pulling, so a write that races with the pull is pulled next time.
+            var versions = sourceVersions();
+            if (Arrays.equals(versions, pulledVersions)) return;
+            onActive();
+            onInactive();
+            pulledVersions = versions;
+        }
+    }
+
+    /**
+     * @return True while the sources are being observed.
+     */
+    boolean isConnected() {
+        return connected;
+    }
+
+    private long[] sourceVersions() {
+        return sources.stream().mapToLong(s -> s.subject.getVersioned().version()).toArray();
+    }
+
+    @Override
+    protected void onActive() {
+        connected = true;
+        pulledVersions = null;
+        // Sources added while connecting (e.g. by switchMap) start observing in addSource, and
+        // observing twice with the same observer is a no-op.
+        for (var source : sources) source.startObserving();
+    }
+
+    @Override
+    protected void onInactive() {
+        connected = false;
+        for (var source : sources) source.stopObserving();
     }
 
     /**
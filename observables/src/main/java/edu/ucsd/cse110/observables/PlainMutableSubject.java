@@ -5,9 +5,9 @@ import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiPredicate;
 
 /**
  * A plain old LiveData-like subject that can be observed, but with no Android dependencies, and
@@ -25,31 +25,180 @@ import java.util.concurrent.atomic.AtomicReference;
  * @param <T> The type of the value that the subject holds.
  */
 public class PlainMutableSubject<T> implements MutableSubject<T> {
-    private final AtomicReference<Optional<T>> value = new AtomicReference<>(Optional.empty());
-    private final ConcurrentLinkedQueue<Observer<T>> observers = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Versioned<T>> value = new AtomicReference<>(Versioned.uninitialized());
+    private final ObserverRegistry<T> observers = new ObserverRegistry<>();
+    private volatile @Nullable BiPredicate<? super T, ? super T> equivalence = null;
+    private volatile @Nullable String name = null;
+    // Guards going from unobserved to observed and back, so onActive and onInactive alternate.
+    final Object activation = new Object();
+
+    // Pending value for postValue, conflated until postExecutor runs the update.
+    private static final Object NOT_POSTED = new Object();
+    private final AtomicReference<Object> posted = new AtomicReference<>(NOT_POSTED);
+    // Value before the first postValueIfVersion whose notification hasn't run yet.
+    private final AtomicReference<Versioned<T>> unpublished = new AtomicReference<>(null);
+    private volatile @Nullable Executor postExecutor = null;
 
     public PlainMutableSubject() {
     }
 
     public PlainMutableSubject(T initialValue) {
-        this.value.getAndSet(Optional.of(initialValue));
+        this.value.set(Versioned.<T>uninitialized().next(initialValue));
+    }
+
+    /**
+     * Name this subject in {@link SubjectMetrics} reports.
+     *
+     * @param name A short, human readable name, or null to go back to the default.
+     */
+    public void setName(@Nullable String name) {
+        this.name = name;
     }
 
-    protected void notifyObservers() {
-        T newValue = value.get().orElse(null);
-        observers.forEach(observer -> observer.onChanged(newValue));
+    @Nullable
+    public String getName() {
+        return name;
     }
 
     @Override
     @Nullable
     public T getValue() {
-        return value.get().orElse(null);
+        var versioned = getVersioned();
+        DependencyTracker.read(this, versioned.version());
+        return versioned.value();
+    }
+
+    @NonNull
+    @Override
+    public Versioned<T> getVersioned() {
+        return value.get();
     }
 
     @Override
     public void setValue(T newValue) {
-        value.set(Optional.of(newValue));
-        notifyObservers();
+        Versioned<T> oldValue;
+        Versioned<T> updated;
+        do {
+            oldValue = value.get();
+            updated = oldValue.next(newValue);
+        } while (!value.compareAndSet(oldValue, updated));
+        if (Subjects.defer(this, oldValue)) return;
+        publish(oldValue, updated);
+    }
+
+    @Override
+    public boolean setValueIfVersion(T newValue, long expectedVersion) {
+        var oldValue = value.get();
+        if (oldValue.version() != expectedVersion) return false;
+        var updated = oldValue.next(newValue);
+        if (!value.compareAndSet(oldValue, updated)) return false;
+        if (!Subjects.defer(this, oldValue)) publish(oldValue, updated);
+        return true;
+    }
+
+    /**
+     * Like {@link #setValueIfVersion}, but for background threads: the value is stored (and its
+     * version bumped) right away, so the next reader on any thread sees it, while observers are
+     * notified on the post executor like {@link #postValue}. Notifications are conflated the
+     * same way.
+     *
+     * @param newValue        The new value.
+     * @param expectedVersion The version the new value was computed from.
+     * @return True if the value was set, false if another write got in first.
+     */
+    public boolean postValueIfVersion(T newValue, long expectedVersion) {
+        var oldValue = value.get();
+        if (oldValue.version() != expectedVersion) return false;
+        if (!value.compareAndSet(oldValue, oldValue.next(newValue))) return false;
+        if (!unpublished.compareAndSet(null, oldValue)) return true; // a notification is already queued
+        var executor = postExecutor;
+        if (executor == null) {
+            publishUnpublished();
+        } else {
+            executor.execute(this::publishUnpublished);
+        }
+        return true;
+    }
+
+    private void publishUnpublished() {
+        var previous = unpublished.getAndSet(null);
+        if (previous != null) publish(previous);
+    }
+
+    /**
+     * Sets the value from any thread. The update itself (storing the value and notifying
+     * observers) runs on this subject's post executor, see {@link #setPostExecutor}.
+     * <p>
+     * Posts are conflated: if several values are posted before the executor gets to run the
+     * update, only the last one is set, so a slow consumer never builds up a backlog.
+     *
+     * @param newValue The new value.
+     */
+    @Override
+    public void postValue(T newValue) {
+        if (posted.getAndSet(newValue) != NOT_POSTED) return; // an update is already queued
+        var executor = postExecutor;
+        if (executor == null) {
+            applyPosted();
+        } else {
+            executor.execute(this::applyPosted);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyPosted() {
+        var newValue = posted.getAndSet(NOT_POSTED);
+        if (newValue != NOT_POSTED) setValue((T) newValue);
+    }
+
+    /**
+     * Set the executor that {@link #postValue} uses to apply updates, typically the main thread.
+     *
+     * @param executor The executor to post to, or null to apply posted values immediately on the
+     *                 posting thread (the default).
+     */
+    public void setPostExecutor(@Nullable Executor executor) {
+        this.postExecutor = executor;
+    }
+
+    /**
+     * Notify observers of the current value, unless it is equivalent to the given previous one.
+     * Called when a {@link Subjects#batch} closes, or a conflated post is applied.
+     */
+    void publish(Versioned<T> previous) {
+        publish(previous, value.get());
+    }
+
+    /**
+     * Notify observers of the given value, unless it is equivalent to the previous one.
+     * <p>
+     * {@link #setValue} passes the value it wrote rather than reading the subject again, so
+     * when several threads set the subject at once, each write is delivered exactly once, and
+     * each thread's writes arrive in the order it made them.
+     */
+    private void publish(Versioned<T> previous, Versioned<T> current) {
+        var equivalence = this.equivalence;
+        if (equivalence != null && previous.isInitialized() && current.isInitialized()
+                && equivalence.test(previous.value(), current.value())) {
+            return;
+        }
+        Subjects.dispatch(this, observers, current.value());
+    }
+
+    /**
+     * Opt in to distinct-until-changed notifications. When set, {@link #setValue} still stores
+     * the new value (so {@link #getValue()} always returns the latest one), but observers are only
+     * notified if the new value is NOT equivalent to the previous one.
+     * <p>
+     * Only use this with values whose equivalence can actually be checked. If the value is a
+     * mutable object that is changed in place and then set again, an equivalence based on its
+     * contents will compare it with itself and swallow the change.
+     *
+     * @param equivalence Returns true if two values are interchangeable for observers, or null
+     *                    to notify on every {@link #setValue} (the default).
+     */
+    public void setEquivalence(@Nullable BiPredicate<? super T, ? super T> equivalence) {
+        this.equivalence = equivalence;
     }
 
     @Override
@@ -59,31 +208,77 @@ public class PlainMutableSubject<T> implements MutableSubject<T> {
 
     @Override
     public boolean isInitialized() {
-        return value.get().isPresent();
+        return getVersioned().isInitialized();
     }
 
     @Override
     public Observer<T> observe(@NonNull Observer<T> observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
-            if (isInitialized()) observer.onChanged(getValue());
+        return register(observer, null);
+    }
+
+    @Override
+    public Observer<T> observe(@NonNull Executor executor, @NonNull Observer<T> observer) {
+        return register(observer, executor);
+    }
+
+    private Observer<T> register(Observer<T> observer, @Nullable Executor executor) {
+        ObserverRegistry.Entry<T> entry;
+        synchronized (activation) {
+            // Activate before registering, so a subject that refreshes its value in onActive
+            // doesn't also notify the new observer on top of the delivery below.
+            if (observers.isEmpty()) onActive();
+            entry = observers.add(observer, executor);
+        }
+        if (entry != null) observersChanged();
+        if (entry != null && isInitialized()) {
+            entry.deliver(getVersioned().value());
         }
         return observer;
     }
 
     @Override
     public void removeObserver(@NonNull Observer<T> observer) {
-        observers.removeIf(o -> o.equals(observer));
+        synchronized (activation) {
+            if (!observers.remove(observer)) return;
+            if (observers.isEmpty()) onInactive();
+        }
+        observersChanged();
     }
 
     @Override
     public void removeObservers() {
-        observers.clear();
+        synchronized (activation) {
+            if (observers.isEmpty()) return;
+            observers.clear();
+            onInactive();
+        }
+        observersChanged();
+    }
+
+    private void observersChanged() {
+        var metrics = Subjects.getMetrics();
+        if (metrics != null) metrics.onObserversChanged(this, observers.size());
+    }
+
+    /**
+     * Called when the number of observers goes from zero to one, just before the first observer
+     * is registered. Like LiveData's method of the same name.
+     * <p>
+     * This and {@link #onInactive} are called under a lock, so they strictly alternate even when
+     * observers come and go on several threads at once.
+     */
+    protected void onActive() {
+    }
+
+    /**
+     * Called when the last observer has been removed.
+     */
+    protected void onInactive() {
     }
 
     @Override
     @VisibleForTesting
     public List<Observer<T>> getObservers() {
-        return List.copyOf(observers);
+        return observers.toList();
     }
 }
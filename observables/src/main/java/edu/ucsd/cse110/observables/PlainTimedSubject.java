@@ -0,0 +1,160 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.Nullable;
+
+/**
+ * A subject that passes on the values of a source subject, but on a schedule, created by
+ * {@link Transformations#debounce}, {@link Transformations#throttleLatest} and
+ * {@link Transformations#sample}.
+ * <p>
+ * Timers only run while the subject is observed: when the last observer leaves, anything pending
+ * is cancelled. An unobserved timed subject is not pulled up to date when read, since that
+ * would mean skipping the schedule.
+ *
+ * @param <T> The type of the values.
+ */
+abstract class PlainTimedSubject<T> extends PlainMediatorSubject<T> {
+    final Scheduler scheduler;
+    final long millis;
+
+    // The latest source value not passed on yet, valid while hasPending. Guarded by this.
+    @Nullable T pending = null;
+    boolean hasPending = false;
+    @Nullable Scheduler.Cancellable timer = null;
+
+    PlainTimedSubject(Subject<T> source, long millis, Scheduler scheduler) {
+        if (millis <= 0) throw new IllegalArgumentException("interval must be positive");
+        this.scheduler = scheduler;
+        this.millis = millis;
+        addSource(source, this::sourceChanged);
+    }
+
+    abstract void sourceChanged(@Nullable T value);
+
+    @Override
+    void refresh() {
+        // Keep the last value passed on, see the class comment.
+    }
+
+    @Override
+    protected void onInactive() {
+        super.onInactive();
+        synchronized (this) {
+            if (timer != null) timer.cancel();
+            timer = null;
+            pending = null;
+            hasPending = false;
+        }
+    }
+
+    /**
+     * Passes a value on once the source has been quiet for the interval.
+     */
+    static final class Debounced<T> extends PlainTimedSubject<T> {
+        Debounced(Subject<T> source, long millis, Scheduler scheduler) {
+            super(source, millis, scheduler);
+        }
+
+        @Override
+        void sourceChanged(@Nullable T value) {
+            synchronized (this) {
+                pending = value;
+                hasPending = true;
+                if (timer != null) timer.cancel();
+                timer = scheduler.schedule(this::quiet, millis);
+            }
+        }
+
+        private void quiet() {
+            T value;
+            synchronized (this) {
+                if (!hasPending) return;
+                value = pending;
+                pending = null;
+                hasPending = false;
+                timer = null;
+            }
+            setValue(value);
+        }
+    }
+
+    /**
+     * Passes a value on right away, then at most one per interval: the latest one that arrived
+     * during it, when it ends.
+     */
+    static final class Throttled<T> extends PlainTimedSubject<T> {
+        Throttled(Subject<T> source, long millis, Scheduler scheduler) {
+            super(source, millis, scheduler);
+        }
+
+        @Override
+        void sourceChanged(@Nullable T value) {
+            synchronized (this) {
+                if (timer != null) {
+                    // Inside an interval: hold on to the latest, and pass it on when it ends.
+                    pending = value;
+                    hasPending = true;
+                    return;
+                }
+                timer = scheduler.schedule(this::intervalEnded, millis);
+            }
+            setValue(value);
+        }
+
+        private void intervalEnded() {
+            T value;
+            synchronized (this) {
+                if (timer == null) return; // cancelled
+                if (!hasPending) {
+                    timer = null;
+                    return;
+                }
+                value = pending;
+                pending = null;
+                hasPending = false;
+                // Passing a value on starts another interval.
+                timer = scheduler.schedule(this::intervalEnded, millis);
+            }
+            setValue(value);
+        }
+    }
+
+    /**
+     * Passes on the latest value once per interval, if it changed since the last one.
+     */
+    static final class Sampled<T> extends PlainTimedSubject<T> {
+        Sampled(Subject<T> source, long millis, Scheduler scheduler) {
+            super(source, millis, scheduler);
+        }
+
+        @Override
+        protected void onActive() {
+            super.onActive();
+            synchronized (this) {
+                timer = scheduler.schedule(this::tick, millis);
+            }
+        }
+
+        @Override
+        void sourceChanged(@Nullable T value) {
+            synchronized (this) {
+                pending = value;
+                hasPending = true;
+            }
+        }
+
+        private void tick() {
+            T value;
+            boolean changed;
+            synchronized (this) {
+                if (timer == null) return; // cancelled
+                timer = scheduler.schedule(this::tick, millis);
+                changed = hasPending;
+                value = pending;
+                pending = null;
+                hasPending = false;
+            }
+            if (changed) setValue(value);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared observer bookkeeping for the primitive subjects ({@link IntSubject}, {@link LongSubject}
+ * and {@link BooleanSubject}).
+ * <p>
+ * Primitive subjects hold their value in a plain field and call primitive observer interfaces,
+ * so setting a value never boxes or allocates. Unlike {@link PlainMutableSubject}, they only
+ * notify when the value actually changes: setting the same value again is a no-op. That makes
+ * them a good fit for clock ticks, where the displayed value changes far less often than it
+ * is recomputed.
+ * <p>
+ * Setting a value is thread safe without taking a lock. Only one thread delivers at a time, and
+ * it always delivers the latest value, never the same one twice in a row. A value set while
+ * another thread is delivering is handed over to that thread, so under contention observers may
+ * skip values in between, but the last one they see is the subject's value. A value set from an
+ * observer is delivered once the current value has reached every observer.
+ *
+ * @param <O> The primitive observer type.
+ */
+public abstract class PrimitiveSubject<O> {
+    private static final Object[] EMPTY = new Object[0];
+
+    private final Set<O> observers = new LinkedHashSet<>();
+    // Null whenever observers has changed since the last notification.
+    private volatile @Nullable Object[] snapshot = EMPTY;
+    protected volatile boolean initialized = false;
+    // Values set but not delivered yet; whoever takes it from zero delivers until it is back.
+    private final AtomicInteger pending = new AtomicInteger(0);
+
+    /**
+     * @return True if this subject has been initialized with an explicit value.
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Register an observer to be notified when the value changes. If the subject is initialized,
+     * the observer is called with the current value immediately.
+     *
+     * @param observer The observer to register.
+     * @return The observer that was registered, so that it can be unregistered later.
+     */
+    public O observe(@NonNull O observer) {
+        boolean added;
+        synchronized (this) {
+            added = observers.add(observer);
+            if (added) snapshot = null;
+        }
+        if (added && initialized) deliverCurrent(observer);
+        return observer;
+    }
+
+    /**
+     * Unregister an observer so that it will no longer be notified when the value changes.
+     *
+     * @param observer The observer to unregister.
+     */
+    public synchronized void removeObserver(@NonNull O observer) {
+        if (observers.remove(observer)) snapshot = null;
+    }
+
+    /**
+     * Unregister all observers.
+     */
+    public synchronized void removeObservers() {
+        observers.clear();
+        snapshot = EMPTY;
+    }
+
+    /**
+     * @return True if this subject has observers.
+     */
+    public synchronized boolean hasObservers() {
+        return !observers.isEmpty();
+    }
+
+    /**
+     * Get the list of observers. This method is for testing purposes only.
+     *
+     * @return The list of observers.
+     */
+    @VisibleForTesting
+    public synchronized List<O> getObservers() {
+        return List.copyOf(observers);
+    }
+
+    /**
+     * @return The registered observers, in registration order. Do not modify.
+     */
+    protected final Object[] observerSnapshot() {
+        var current = snapshot;
+        if (current != null) return current;
+        synchronized (this) {
+            if (snapshot == null) snapshot = observers.toArray();
+            return snapshot;
+        }
+    }
+
+    /**
+     * Called by {@code setValue} after storing a new value. Delivers it, unless a delivery is
+     * already in progress, which then picks it up.
+     */
+    protected final void deliverChanges() {
+        if (pending.getAndIncrement() != 0) return;
+        int missed = 1;
+        try {
+            do {
+                deliverLatest();
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        } catch (RuntimeException | Error e) {
+            // Drop what's left rather than leave the subject unable to deliver.
+            pending.set(0);
+            throw e;
+        }
+    }
+
+    /**
+     * Notify every observer of the current value, unless it is the one last delivered. Only ever
+     * runs on one thread at a time.
+     */
+    protected abstract void deliverLatest();
+
+    /**
+     * Call a newly registered observer with the current value.
+     */
+    protected abstract void deliverCurrent(O observer);
+}
@@ -0,0 +1,127 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link SubjectMetrics} that keeps, for every subject that notified or was observed, the number of
+ * notifications, the current number of observers and a {@link LatencyHistogram} of dispatch
+ * times. Subjects are held weakly, so recording doesn't keep them alive.
+ * <p>
+ * Typical use, from a test or a debug screen:
+ * <pre>{@code
+ * var metrics = new RecordingSubjectMetrics();
+ * Subjects.setMetrics(metrics);
+ * // ... do something ...
+ * System.out.println(metrics.dump());
+ * }</pre>
+ */
+public class RecordingSubjectMetrics implements SubjectMetrics {
+    private final Map<Subject<?>, Stats> stats = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public void onDispatch(@NonNull Subject<?> subject, int observers, long nanos) {
+        var entry = statsFor(subject);
+        entry.notifications.incrementAndGet();
+        entry.observers = observers;
+        entry.dispatchNanos.record(nanos);
+    }
+
+    @Override
+    public void onObserversChanged(@NonNull Subject<?> subject, int observers) {
+        statsFor(subject).observers = observers;
+    }
+
+    /**
+     * @return The statistics recorded for a subject, or null if nothing was recorded for it.
+     */
+    public Stats get(@NonNull Subject<?> subject) {
+        return stats.get(subject);
+    }
+
+    /**
+     * @return All statistics recorded so far, busiest subject first.
+     */
+    public List<Stats> getAll() {
+        List<Stats> all;
+        synchronized (stats) {
+            all = new ArrayList<>(stats.values());
+        }
+        all.sort(Comparator.comparingLong(Stats::getNotifications).reversed());
+        return all;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    /**
+     * @return A table of every subject's statistics, busiest first, with times in microseconds.
+     */
+    public String dump() {
+        var out = new StringBuilder();
+        out.append(String.format("%-40s %10s %9s %9s %9s %9s%n",
+                "subject", "notified", "observers", "p50 us", "p99 us", "max us"));
+        for (var entry : getAll()) {
+            var histogram = entry.getDispatchNanos();
+            out.append(String.format("%-40s %10d %9d %9.1f %9.1f %9.1f%n",
+                    entry.getName(), entry.getNotifications(), entry.getObservers(),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getMax() / 1000.0));
+        }
+        return out.toString();
+    }
+
+    private Stats statsFor(Subject<?> subject) {
+        var entry = stats.get(subject);
+        if (entry != null) return entry;
+        synchronized (stats) {
+            return stats.computeIfAbsent(subject, s -> new Stats(nameOf(s)));
+        }
+    }
+
+    static String nameOf(Subject<?> subject) {
+        if (subject instanceof PlainMutableSubject<?> plain && plain.getName() != null) {
+            return plain.getName();
+        }
+        return subject.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(subject));
+    }
+
+    /**
+     * What was recorded for one subject.
+     */
+    public static final class Stats {
+        private final String name;
+        private final AtomicLong notifications = new AtomicLong();
+        private volatile int observers;
+        private final LatencyHistogram dispatchNanos = new LatencyHistogram();
+
+        private Stats(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getNotifications() {
+            return notifications.get();
+        }
+
+        public int getObservers() {
+            return observers;
+        }
+
+        public LatencyHistogram getDispatchNanos() {
+            return dispatchNanos;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks after a delay, for the time-based transformations ({@link Transformations#debounce},
+ * {@link Transformations#throttleLatest}, {@link Transformations#sample}).
+ * <p>
+ * On Android this is typically backed by a main-thread {@code Handler}, so tasks run on the same
+ * thread as everything else. In tests, use a {@link VirtualScheduler} and move time forward by
+ * hand.
+ */
+public interface Scheduler {
+    /**
+     * Run a task once, after the given delay.
+     *
+     * @param task        The task to run.
+     * @param delayMillis How long to wait, in milliseconds. Zero or less runs it as soon as
+     *                    possible, but never inline.
+     * @return A handle to cancel the task if it hasn't run yet.
+     */
+    @NonNull
+    Cancellable schedule(@NonNull Runnable task, long delayMillis);
+
+    /**
+     * A task that was scheduled, see {@link #schedule}.
+     */
+    @FunctionalInterface
+    interface Cancellable {
+        /**
+         * Make sure the task doesn't run, if it hasn't already. Does nothing otherwise.
+         */
+        void cancel();
+    }
+
+    /**
+     * @param executor The executor to run tasks on.
+     * @return A scheduler backed by the given executor, for use off Android.
+     */
+    static Scheduler of(@NonNull ScheduledExecutorService executor) {
+        return (task, delayMillis) -> {
+            var future = executor.schedule(task, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+            return () -> future.cancel(false);
+        };
+    }
+}
@@ -6,6 +6,7 @@ import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * A subject that can be observed by observers. Analogous to LiveData.
@@ -22,6 +23,16 @@ public interface Subject<T> {
     @Nullable
     T getValue();
 
+    /**
+     * Read the current value and its version in one atomic step. Use this rather than
+     * {@link #getValue()} when reading from another thread and you need to know whether what you
+     * read is still current, or to update it with {@link MutableSubject#setValueIfVersion}.
+     *
+     * @return The current value and version.
+     */
+    @NonNull
+    Versioned<T> getVersioned();
+
     /**
      * @return True if this subject has observers.
      */
@@ -43,6 +54,53 @@ public interface Subject<T> {
     @MainThread
     Observer<T> observe(@NonNull Observer<T> observer);
 
+    /**
+     * Register an observer that is called on the given executor (for example the main thread)
+     * instead of on whichever thread set the value.
+     * <p>
+     * If the observer falls behind, values are conflated: it is called once with the latest
+     * value rather than once per change. Unregister it with {@link #removeObserver} as usual.
+     *
+     * @param executor The executor to call the observer on.
+     * @param observer The observer to register.
+     * @return The observer that was registered, so that it can be unregistered later.
+     */
+    @MainThread
+    Observer<T> observe(@NonNull Executor executor, @NonNull Observer<T> observer);
+
+    /**
+     * Register an observer, like {@link #observe(Observer)}, and return a handle that unregisters
+     * it. Collect the handles in a {@link CompositeDisposable} to unregister everything a screen
+     * registered in one call when it goes away.
+     *
+     * @param observer The observer to register.
+     * @return A handle that unregisters the observer when disposed of.
+     */
+    @MainThread
+    default Disposable subscribe(@NonNull Observer<T> observer) {
+        observe(observer);
+        return new ObserverRegistration<>(this, observer);
+    }
+
+    /**
+     * Register an observer that this subject only holds weakly: once nothing else references the
+     * observer, it is garbage collected and unregistered, instead of being kept alive (along with
+     * everything it references) for as long as the subject lives.
+     * <p>
+     * The caller must keep the observer reachable for as long as it wants to be notified, for
+     * example in a field. A lambda passed straight in can be collected at any time.
+     *
+     * @param observer The observer to register.
+     * @return A handle that unregisters the observer when disposed of.
+     */
+    @MainThread
+    default Disposable observeWeakly(@NonNull Observer<T> observer) {
+        WeakObserver.purge();
+        var weak = new WeakObserver<>(this, observer);
+        observe(weak);
+        return new ObserverRegistration<>(this, weak);
+    }
+
     /**
      * Unregister an observer so that it will no longer be notified when the value changes.
      *
@@ -0,0 +1,32 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Hook for instrumenting subjects, installed with {@link Subjects#setMetrics}. When no metrics
+ * are installed (the default), subjects don't even read the clock.
+ * <p>
+ * Callbacks run on the notifying thread, in the middle of a dispatch, so implementations must be
+ * thread safe and cheap. {@link RecordingSubjectMetrics} is a ready-made implementation.
+ */
+public interface SubjectMetrics {
+    /**
+     * Called after a subject has notified its observers.
+     *
+     * @param subject   The subject that notified.
+     * @param observers How many observers it has.
+     * @param nanos     How long calling them took. Notifications they caused in turn (such as
+     *                  derived subjects notifying their own observers) are queued and timed
+     *                  separately, see {@link Subjects#dispatch}.
+     */
+    void onDispatch(@NonNull Subject<?> subject, int observers, long nanos);
+
+    /**
+     * Called after an observer is registered on or removed from a subject.
+     *
+     * @param subject   The subject.
+     * @param observers How many observers it has now.
+     */
+    default void onObserversChanged(@NonNull Subject<?> subject, int observers) {
+    }
+}
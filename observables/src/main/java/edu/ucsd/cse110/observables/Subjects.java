@@ -0,0 +1,244 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Utility methods for working with groups of subjects.
+ */
+public class Subjects {
+    // Number of batches open on any thread, so setValue can skip the ThreadLocal when it's zero.
+    private static final AtomicInteger openBatches = new AtomicInteger(0);
+    private static final ThreadLocal<Batch> currentBatch = ThreadLocal.withInitial(Batch::new);
+    private static volatile @Nullable SubjectMetrics metrics = null;
+
+    private Subjects() {
+    }
+
+    /**
+     * Runs the given block with notifications deferred. Every {@link PlainMutableSubject} set
+     * inside the block (on this thread) updates its value immediately, but only notifies its
+     * observers once, with its final value, when the outermost batch closes.
+     * <p>
+     * Batches nest: an inner batch does not flush anything, only the outermost one does.
+     * Subjects are flushed in the order they were first set. If the block throws, the values it
+     * already set are still flushed before the exception propagates.
+     *
+     * @param block The code whose notifications should be coalesced.
+     */
+    public static void batch(Runnable block) {
+        batched(() -> {
+            block.run();
+            return null;
+        });
+    }
+
+    /**
+     * Like {@link #batch}, for a block with a result.
+     */
+    static <R> R batched(Supplier<R> block) {
+        var batch = currentBatch.get();
+        batch.depth++;
+        openBatches.incrementAndGet();
+        try {
+            return block.get();
+        } finally {
+            openBatches.decrementAndGet();
+            if (--batch.depth == 0) batch.flush();
+        }
+    }
+
+    /**
+     * Install a metrics hook that every subject reports its notifications and observer changes
+     * to, for example a {@link RecordingSubjectMetrics}.
+     *
+     * @param metrics The hook, or null to stop collecting metrics (the default).
+     */
+    public static void setMetrics(@Nullable SubjectMetrics metrics) {
+        Subjects.metrics = metrics;
+    }
+
+    @Nullable
+    public static SubjectMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return True if a batch is open on the calling thread.
+     */
+    public static boolean isBatching() {
+        return openBatches.get() > 0 && currentBatch.get().depth > 0;
+    }
+
+    /**
+     * Called by {@link PlainMutableSubject#setValue} after storing a new value.
+     *
+     * @param subject  The subject that was just set.
+     * @param previous Its value before it was set.
+     * @return True if the notification was deferred to the end of the current batch.
+     */
+    static boolean defer(PlainMutableSubject<?> subject, Versioned<?> previous) {
+        if (openBatches.get() == 0) return false;
+        var batch = currentBatch.get();
+        if (batch.depth == 0) return false;
+        // Keep the value from before the batch so the equivalence check compares start and end.
+        batch.pending.putIfAbsent(subject, previous);
+        return true;
+    }
+
+    /**
+     * Called by {@link PlainMutableSubject#setValue} to notify observers of a new value.
+     * <p>
+     * Notifications are trampolined: a notification made while another one is being delivered on
+     * the same thread (typically an observer setting a derived subject) is not delivered right
+     * away, but queued and delivered once the current one has reached all of its observers. The
+     * outermost notification drains the queue in a loop, so the stack doesn't grow with the depth
+     * of a chain of derived subjects. The guarantees are:
+     * <ul>
+     *     <li>every observer of a subject hears about a value before anything queued after it;</li>
+     *     <li>notifications are delivered in the order they were made (first in, first out),
+     *     so each observer sees the values of a subject in the order they were set;</li>
+     *     <li>by the time the outermost {@code setValue} returns, everything has been delivered.</li>
+     * </ul>
+     * Combined and computed subjects notified along the way are not recomputed right away either
+     * (see {@link #schedule}). Whenever the queue runs dry, the scheduled one with the lowest rank
+     * is recomputed. By then every path from the changed subject to it has been followed, so each
+     * one sees all of its inputs updated and recomputes exactly once.
+     * <p>
+     * If an observer throws, notifications still queued are dropped and the exception propagates
+     * out of the outermost {@code setValue}.
+     *
+     * @param subject   The subject notifying, for {@link SubjectMetrics}.
+     * @param observers Its observers.
+     * @param value     The value to deliver.
+     */
+    static <T> void dispatch(Subject<T> subject, ObserverRegistry<T> observers, @Nullable T value) {
+        var state = currentBatch.get();
+        if (state.dispatching) {
+            state.enqueue(subject, observers, value);
+            return;
+        }
+        state.dispatching = true;
+        try {
+            deliver(subject, observers, value);
+            state.drain();
+        } catch (RuntimeException | Error e) {
+            state.discard();
+            throw e;
+        } finally {
+            state.dispatching = false;
+        }
+    }
+
+    private static <T> void deliver(Subject<T> subject, ObserverRegistry<T> observers, @Nullable T value) {
+        var metrics = Subjects.metrics;
+        if (metrics == null) {
+            observers.dispatch(value);
+            return;
+        }
+        long start = System.nanoTime();
+        observers.dispatch(value);
+        metrics.onDispatch(subject, observers.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Queue a combined or computed subject whose inputs changed to be recomputed once the
+     * current dispatch has run out of other notifications to deliver.
+     *
+     * @return True if it was queued (or already was), false if no dispatch is in progress on
+     * this thread and the caller should recompute right away.
+     */
+    static boolean schedule(PlainDerivedSubject<?> subject) {
+        var state = currentBatch.get();
+        if (!state.dispatching) return false;
+        if (!subject.scheduled) {
+            subject.scheduled = true;
+            state.scheduled.add(subject);
+        }
+        return true;
+    }
+
+    // Per-thread batch and dispatch state.
+    private static final class Batch {
+        int depth = 0;
+        final Map<PlainMutableSubject<?>, Versioned<?>> pending = new LinkedHashMap<>();
+
+        boolean dispatching = false;
+        // Queued notifications, as (subject, observers, value) triples in a growable ring buffer.
+        // A plain array rather than a queue of records, so queuing doesn't allocate.
+        Object[] queue = new Object[3 * 16];
+        int head = 0;
+        int size = 0;
+        final PriorityQueue<PlainDerivedSubject<?>> scheduled =
+                new PriorityQueue<>(Comparator.comparingInt(PlainDerivedSubject::rank));
+
+        void enqueue(Subject<?> subject, ObserverRegistry<?> observers, @Nullable Object value) {
+            if (size * 3 == queue.length) grow();
+            int tail = (head + size * 3) % queue.length;
+            queue[tail] = subject;
+            queue[tail + 1] = observers;
+            queue[tail + 2] = value;
+            size++;
+        }
+
+        void drain() {
+            while (true) {
+                if (size > 0) {
+                    var subject = (Subject<?>) queue[head];
+                    var observers = (ObserverRegistry<?>) queue[head + 1];
+                    var value = queue[head + 2];
+                    queue[head] = queue[head + 1] = queue[head + 2] = null;
+                    head = (head + 3) % queue.length;
+                    size--;
+                    deliverQueued(subject, observers, value);
+                    continue;
+                }
+                var next = scheduled.poll();
+                if (next == null) return;
+                next.recompute();
+            }
+        }
+
+        void discard() {
+            Arrays.fill(queue, null);
+            head = 0;
+            size = 0;
+            PlainDerivedSubject<?> next;
+            while ((next = scheduled.poll()) != null) next.scheduled = false;
+        }
+
+        private void grow() {
+            var bigger = new Object[queue.length * 2];
+            for (int i = 0; i < size * 3; i++) bigger[i] = queue[(head + i) % queue.length];
+            queue = bigger;
+            head = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> void deliverQueued(Subject<?> subject, ObserverRegistry<?> observers, Object value) {
+            deliver((Subject<T>) subject, (ObserverRegistry<T>) observers, (T) value);
+        }
+
+        void flush() {
+            if (pending.isEmpty()) return;
+            var flushing = new ArrayList<>(pending.entrySet());
+            pending.clear();
+            for (var entry : flushing) {
+                publish(entry.getKey(), entry.getValue());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> void publish(PlainMutableSubject<T> subject, Versioned<?> previous) {
+            subject.publish((Versioned<T>) previous);
+        }
+    }
+}
@@ -2,6 +2,11 @@ package edu.ucsd.cse110.observables;
 
 import androidx.annotation.Nullable;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
 
 /**
@@ -69,4 +74,254 @@ public class Transformations {
 
         return result;
     }
+
+    /**
+     * Like {@link #switchMap(Subject, Function)}, but remembers the subjects the switcher returned
+     * for the most recent trigger values (by {@link Object#equals}), up to the given number.
+     * <p>
+     * Switching back to a recent trigger value reuses its subject rather than calling the switcher
+     * again, and while the result is observed the remembered subjects stay observed too, so they
+     * are still up to date and don't need to reconnect or recompute. Good for flipping between a
+     * few recently viewed items; the bound keeps a long session from holding on to all of them.
+     * <p>
+     * The remembered subjects are only kept warm while the result stays observed: once it isn't,
+     * they are let go, and observing it again only warms up the current one. Keep an observer on
+     * the result for as long as the cache should stay warm (a ViewModel until it is cleared, say).
+     *
+     * @param trigger   The subject that triggers the switch.
+     * @param switcher  Takes in a value and returns a switched to source subject. MUST NOT RETURN NULL.
+     * @param cacheSize How many trigger values to remember subjects for, at least one.
+     * @param <T>       The type of the trigger subject.
+     * @param <R>       The type of the resulting subject.
+     * @return A new subject that emits values from a source subject based on the trigger subject.
+     */
+    public static <T, R> Subject<R> switchMap(Subject<T> trigger, Function<T, Subject<R>> switcher, int cacheSize) {
+        return new PlainCachedSwitchSubject<>(trigger, switcher, cacheSize);
+    }
+
+    /**
+     * Returns a {@link Subject} that mirrors the source, but only notifies its observers when the
+     * value actually changes according to {@link Object#equals}.
+     *
+     * @param subject The subject to filter.
+     * @param <T>     The type of the values.
+     * @return A new subject that skips repeated equal values.
+     * @see #distinctUntilChanged(Subject, BiPredicate)
+     */
+    public static <T> Subject<T> distinctUntilChanged(Subject<T> subject) {
+        return distinctUntilChanged(subject, Objects::equals);
+    }
+
+    /**
+     * Returns a {@link Subject} that mirrors the source, but only notifies its observers when the
+     * new value is not equivalent to the previous one. Repeated values are dropped here, before
+     * they fan out to everything downstream.
+     *
+     * @param subject     The subject to filter.
+     * @param equivalence Returns true if two values are interchangeable for observers.
+     * @param <T>         The type of the values.
+     * @return A new subject that skips repeated equivalent values.
+     */
+    public static <T> Subject<T> distinctUntilChanged(Subject<T> subject, BiPredicate<? super T, ? super T> equivalence) {
+        var result = new PlainMediatorSubject<T>();
+        result.setEquivalence(equivalence);
+        result.addSource(subject, result::setValue);
+        return result;
+    }
+
+    /**
+     * Returns a {@link Subject} holding a running aggregate of the source's values: it starts at
+     * the seed, and each value the source takes (starting with its current one, if any) is folded
+     * in with the accumulator. Each step is O(1), whatever the number of values so far.
+     * <p>
+     * Unlike the other transformations, the result observes the source from the start, whether or
+     * not it is observed itself: a value it missed could not be folded in later. It stays attached
+     * until it is disposed of, see {@link DisposableSubject}.
+     *
+     * @param subject     The subject whose values to aggregate.
+     * @param seed        The aggregate before any value.
+     * @param accumulator Combines the aggregate so far with the next value.
+     * @param <T>         The type of the source values.
+     * @param <R>         The type of the aggregate.
+     * @return A new subject holding the aggregate.
+     */
+    public static <T, R> DisposableSubject<R> scan(Subject<T> subject, R seed,
+                                                   BiFunction<? super R, ? super T, ? extends R> accumulator) {
+        var result = new Aggregate<R>(seed);
+        Observer<T> observer = value -> result.fold(current -> accumulator.apply(current, value));
+        result.attach(subject.subscribe(observer)::dispose);
+        return result;
+    }
+
+    /**
+     * Returns a {@link Subject} holding a running aggregate over the values of a map, such as a
+     * sum or a count. It is kept up to date from the map's changes, in O(1) per change: a new
+     * value is added in, a removed one taken out, and a replaced one taken out then the new one
+     * added in. {@code remove} must undo {@code add}.
+     * <p>
+     * Like {@link #scan}, the result observes the map until it is disposed of, whether or not it is
+     * observed itself. Create it on the thread that writes the map.
+     *
+     * @param map    The map whose values to aggregate.
+     * @param seed   The aggregate of an empty map.
+     * @param add    Adds a value to an aggregate.
+     * @param remove Takes a value out of an aggregate it was added to.
+     * @param <K>    The type of the map's keys.
+     * @param <V>    The type of the map's values.
+     * @param <R>    The type of the aggregate.
+     * @return A new subject holding the aggregate.
+     */
+    public static <K, V, R> DisposableSubject<R> scanKeyed(ObservableMap<K, V> map, R seed,
+                                                           BiFunction<? super R, ? super V, ? extends R> add,
+                                                           BiFunction<? super R, ? super V, ? extends R> remove) {
+        R initial = seed;
+        for (var value : map.snapshot().values()) initial = add.apply(initial, value);
+        var result = new Aggregate<R>(initial);
+        Observer<MapChange<K, V>> observer = change -> result.fold(current -> switch (change.kind()) {
+            case PUT -> add.apply(current, change.newValue());
+            case UPDATE -> add.apply(remove.apply(current, change.oldValue()), change.newValue());
+            case REMOVE -> remove.apply(current, change.oldValue());
+        });
+        map.observeChanges(observer);
+        result.attach(() -> map.removeChangeObserver(observer));
+        return result;
+    }
+
+    // The result of scan and scanKeyed, which folds in each step until it is disposed of.
+    private static final class Aggregate<R> extends PlainMutableSubject<R> implements DisposableSubject<R> {
+        private final AtomicBoolean disposed = new AtomicBoolean(false);
+        private volatile @Nullable Runnable detach;
+
+        Aggregate(R initial) {
+            super(initial);
+        }
+
+        void attach(Runnable detach) {
+            this.detach = detach;
+        }
+
+        // Apply a step, retrying if another thread stepped it in the meantime.
+        void fold(Function<R, ? extends R> step) {
+            if (disposed.get()) return;
+            Versioned<R> current;
+            do {
+                current = getVersioned();
+            } while (!setValueIfVersion(step.apply(current.value()), current.version()));
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed.compareAndSet(false, true)) return;
+            var detach = this.detach;
+            if (detach != null) detach.run();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed.get();
+        }
+    }
+
+    /**
+     * Returns a {@link Subject} that passes on a value of the source once the source has stopped
+     * changing for the given time. A burst of changes results in a single notification, with the
+     * last value of the burst. Good for saving state only after the user is done editing.
+     * <p>
+     * Like the other time-based transformations, it only runs timers while observed.
+     *
+     * @param subject     The subject to debounce.
+     * @param quietMillis How long the source must stay unchanged, in milliseconds.
+     * @param scheduler   Runs the timers, see {@link VirtualScheduler} for tests.
+     * @param <T>         The type of the values.
+     * @return A new subject with the source's values, once they settle.
+     */
+    public static <T> Subject<T> debounce(Subject<T> subject, long quietMillis, Scheduler scheduler) {
+        return new PlainTimedSubject.Debounced<>(subject, quietMillis, scheduler);
+    }
+
+    /**
+     * Returns a {@link Subject} that passes on the source's values at most once per interval. The
+     * first change is passed on right away; changes during the following interval are held, and
+     * the latest of them is passed on when it ends (which starts another interval). Nothing is
+     * passed on while the source doesn't change.
+     *
+     * @param subject        The subject to throttle.
+     * @param intervalMillis The shortest time between two notifications, in milliseconds.
+     * @param scheduler      Runs the timers, see {@link VirtualScheduler} for tests.
+     * @param <T>            The type of the values.
+     * @return A new subject with the source's values, rate-limited.
+     */
+    public static <T> Subject<T> throttleLatest(Subject<T> subject, long intervalMillis, Scheduler scheduler) {
+        return new PlainTimedSubject.Throttled<>(subject, intervalMillis, scheduler);
+    }
+
+    /**
+     * Returns a {@link Subject} that looks at the source once per period, on a fixed clock, and
+     * passes on its latest value if it changed since the last look.
+     *
+     * @param subject      The subject to sample.
+     * @param periodMillis The time between two samples, in milliseconds.
+     * @param scheduler    Runs the timers, see {@link VirtualScheduler} for tests.
+     * @param <T>          The type of the values.
+     * @return A new subject with the source's values, sampled.
+     */
+    public static <T> Subject<T> sample(Subject<T> subject, long periodMillis, Scheduler scheduler) {
+        return new PlainTimedSubject.Sampled<>(subject, periodMillis, scheduler);
+    }
+
+    /**
+     * Returns a {@link Subject} holding the result of combining the latest values of two subjects.
+     * It is recomputed whenever either input changes, once both have been initialized.
+     * <p>
+     * Recomputation is glitch-free: if both inputs are derived from the same subject (a
+     * "diamond"), a change to that subject recomputes the result once, with both inputs already
+     * updated, instead of once per input with the other one still stale.
+     *
+     * @param first    The first input.
+     * @param second   The second input.
+     * @param combiner Combines the latest input values into the result.
+     * @param <A>      The type of the first input.
+     * @param <B>      The type of the second input.
+     * @param <R>      The type of the result.
+     * @return A new subject holding the combined value.
+     */
+    public static <A, B, R> Subject<R> combine(Subject<A> first, Subject<B> second,
+                                               BiFunction<? super A, ? super B, ? extends R> combiner) {
+        return new PlainCombinedSubject<>(List.of(first, second),
+                () -> combiner.apply(first.getValue(), second.getValue()));
+    }
+
+    /**
+     * Like {@link #combine(Subject, Subject, BiFunction)}, for three inputs.
+     */
+    public static <A, B, C, R> Subject<R> combine(Subject<A> first, Subject<B> second, Subject<C> third,
+                                                  Combiner3<? super A, ? super B, ? super C, ? extends R> combiner) {
+        return new PlainCombinedSubject<>(List.of(first, second, third),
+                () -> combiner.apply(first.getValue(), second.getValue(), third.getValue()));
+    }
+
+    /**
+     * Like {@link #combine(Subject, Subject, BiFunction)}, for any number of inputs of the same
+     * type. The combiner receives the latest values in the same order as the inputs.
+     *
+     * @param inputs   The inputs.
+     * @param combiner Combines the latest input values into the result.
+     * @param <T>      The type of the inputs.
+     * @param <R>      The type of the result.
+     * @return A new subject holding the combined value.
+     */
+    public static <T, R> Subject<R> combine(List<? extends Subject<? extends T>> inputs,
+                                            Function<List<T>, ? extends R> combiner) {
+        var copy = List.<Subject<? extends T>>copyOf(inputs);
+        return new PlainCombinedSubject<>(copy,
+                () -> combiner.apply(copy.stream().<T>map(Subject::getValue).toList()));
+    }
+
+    /**
+     * A function of three arguments, for {@link #combine(Subject, Subject, Subject, Combiner3)}.
+     */
+    @FunctionalInterface
+    public interface Combiner3<A, B, C, R> {
+        R apply(A first, B second, C third);
+    }
 }
@@ -0,0 +1,38 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.Nullable;
+
+/**
+ * A subject's value together with its version, read atomically by {@link Subject#getVersioned()}.
+ * <p>
+ * Every write to a subject bumps its version by one, so two reads with the same version saw the
+ * same write. Version 0 means the subject has never been set. Pass the version to
+ * {@link MutableSubject#setValueIfVersion} to write only if nobody else wrote in the meantime.
+ *
+ * @param value   The value, or null if the subject is not initialized.
+ * @param version The number of writes so far.
+ * @param <T>     The type of the value.
+ */
+public record Versioned<T>(@Nullable T value, long version) {
+    @SuppressWarnings("rawtypes")
+    private static final Versioned UNINITIALIZED = new Versioned<>(null, 0);
+
+    @SuppressWarnings("unchecked")
+    public static <T> Versioned<T> uninitialized() {
+        return (Versioned<T>) UNINITIALIZED;
+    }
+
+    /**
+     * @return True if the subject had been set when this was read.
+     */
+    public boolean isInitialized() {
+        return version > 0;
+    }
+
+    /**
+     * @return The same value at the next version.
+     */
+    Versioned<T> next(@Nullable T newValue) {
+        return new Versioned<>(newValue, version + 1);
+    }
+}
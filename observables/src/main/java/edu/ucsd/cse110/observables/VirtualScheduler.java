@@ -0,0 +1,101 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.NonNull;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * A {@link Scheduler} with a clock that only moves when told to, so time-based code can be tested
+ * deterministically and instantly.
+ * <p>
+ * Time starts at zero. {@link #advanceBy} moves it forward, running every task that comes due
+ * along the way in order (earliest first, and in scheduling order for the same time), on the
+ * calling thread. Tasks scheduled by those tasks run too if they come due in time.
+ */
+public class VirtualScheduler implements Scheduler {
+    private long now = 0;
+    private long sequence = 0;
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>(
+            Comparator.comparingLong((Task task) -> task.time).thenComparingLong(task -> task.sequence));
+
+    private static final class Task {
+        final long time;
+        final long sequence;
+        final Runnable runnable;
+        boolean cancelled = false;
+
+        Task(long time, long sequence, Runnable runnable) {
+            this.time = time;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+    }
+
+    @NonNull
+    @Override
+    public synchronized Cancellable schedule(@NonNull Runnable task, long delayMillis) {
+        var scheduled = new Task(now + Math.max(0, delayMillis), sequence++, task);
+        tasks.add(scheduled);
+        return () -> {
+            synchronized (this) {
+                scheduled.cancelled = true;
+                tasks.remove(scheduled);
+            }
+        };
+    }
+
+    /**
+     * @return The current virtual time, in milliseconds.
+     */
+    public synchronized long now() {
+        return now;
+    }
+
+    /**
+     * @return How many tasks are waiting to run.
+     */
+    public synchronized int pendingCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Move time forward, running the tasks that come due.
+     *
+     * @param millis How far to move, in milliseconds.
+     */
+    public void advanceBy(long millis) {
+        if (millis < 0) throw new IllegalArgumentException("time can't go backwards");
+        advanceTo(now() + millis);
+    }
+
+    /**
+     * Move time forward to the given time, running the tasks that come due.
+     *
+     * @param time The time to move to, in milliseconds. Must not be in the past.
+     */
+    public void advanceTo(long time) {
+        while (true) {
+            Task next;
+            synchronized (this) {
+                if (time < now) throw new IllegalArgumentException("time can't go backwards");
+                next = tasks.peek();
+                if (next == null || next.time > time) {
+                    now = time;
+                    return;
+                }
+                tasks.poll();
+                now = next.time;
+            }
+            // Run outside the lock, so the task can schedule more.
+            if (!next.cancelled) next.runnable.run();
+        }
+    }
+
+    /**
+     * Run the tasks that are already due, without moving time.
+     */
+    public void runDue() {
+        advanceBy(0);
+    }
+}
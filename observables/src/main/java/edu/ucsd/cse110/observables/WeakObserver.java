@@ -0,0 +1,61 @@
+package edu.ucsd.cse110.observables;
+
+import androidx.annotation.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Registered in place of an observer to hold it weakly, see {@link Subject#observeWeakly}.
+ * <p>
+ * Once the observer has been garbage collected, the wrapper unregisters itself: either the next
+ * time the subject notifies, or the next time any weak observer is registered, whichever comes
+ * first. So a subject that never notifies still doesn't pile up dead registrations.
+ */
+final class WeakObserver<T> implements Observer<T> {
+    // Observers that have been collected, whose wrappers are still registered.
+    private static final ReferenceQueue<Observer<?>> collected = new ReferenceQueue<>();
+
+    private final Subject<T> subject;
+    private final Reference<Observer<T>> observer;
+
+    WeakObserver(Subject<T> subject, Observer<T> observer) {
+        this.subject = subject;
+        this.observer = new Ref<>(observer, this);
+    }
+
+    @Override
+    public void onChanged(@Nullable T value) {
+        var target = observer.get();
+        if (target == null) {
+            subject.removeObserver(this);
+            return;
+        }
+        target.onChanged(value);
+    }
+
+    /**
+     * Unregister the wrappers of every observer collected so far.
+     */
+    static void purge() {
+        Reference<? extends Observer<?>> ref;
+        while ((ref = collected.poll()) != null) {
+            ((Ref<?>) ref).unregister();
+        }
+    }
+
+    // The weak reference to the observer; strongly references its wrapper, so the queue can find it.
+    private static final class Ref<T> extends WeakReference<Observer<T>> {
+        final WeakObserver<T> wrapper;
+
+        Ref(Observer<T> observer, WeakObserver<T> wrapper) {
+            super(observer, collected);
+            this.wrapper = wrapper;
+        }
+
+        void unregister() {
+            wrapper.subject.removeObserver(wrapper);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Batched Notification")
+public class BatchTests {
+    @Nested
+    @DisplayName("Given two observed subjects")
+    class GivenTwoSubjects {
+        MutableSubject<String> first = new PlainMutableSubject<>();
+        MutableSubject<Integer> second = new PlainMutableSubject<>();
+        List<String> received = new ArrayList<>();
+
+        {
+            first.observe(value -> received.add("first=" + value));
+            second.observe(value -> received.add("second=" + value));
+        }
+
+        @Test
+        @DisplayName("When set many times in a batch, then each notifies once with its final value")
+        void ThenEachNotifiesOnce() {
+            Subjects.batch(() -> {
+                second.setValue(1);
+                first.setValue("a");
+                second.setValue(2);
+                first.setValue("b");
+                second.setValue(3);
+            });
+
+            assertThat(received, contains("second=3", "first=b"));
+        }
+
+        @Test
+        @DisplayName("When read inside a batch, then the new value is already visible")
+        void ThenValueIsVisibleInsideBatch() {
+            Subjects.batch(() -> {
+                first.setValue("a");
+                assertThat(first.getValue(), is("a"));
+                assertThat(received, is(empty()));
+                assertThat(Subjects.isBatching(), is(true));
+            });
+            assertThat(Subjects.isBatching(), is(false));
+        }
+
+        @Test
+        @DisplayName("When batches are nested, then only the outermost one flushes")
+        void ThenOnlyOutermostFlushes() {
+            Subjects.batch(() -> {
+                first.setValue("a");
+                Subjects.batch(() -> second.setValue(1));
+                assertThat(received, is(empty()));
+                second.setValue(2);
+            });
+
+            assertThat(received, contains("first=a", "second=2"));
+        }
+
+        @Test
+        @DisplayName("When the batch throws, then values set so far are still flushed")
+        void ThenFlushesOnException() {
+            assertThrows(IllegalStateException.class, () -> Subjects.batch(() -> {
+                first.setValue("a");
+                throw new IllegalStateException();
+            }));
+
+            assertThat(received, contains("first=a"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a subject with an equivalence")
+    class GivenEquivalence {
+        PlainMutableSubject<Integer> subject = new PlainMutableSubject<>(1);
+        List<Integer> received = new ArrayList<>();
+
+        @Test
+        @DisplayName("When a batch ends on the starting value, then nothing is notified")
+        void ThenRoundTripIsSuppressed() {
+            subject.setEquivalence(Integer::equals);
+            subject.observe(received::add);
+            received.clear();
+
+            Subjects.batch(() -> {
+                subject.setValue(2);
+                subject.setValue(1);
+            });
+
+            assertThat(received, is(empty()));
+        }
+    }
+}
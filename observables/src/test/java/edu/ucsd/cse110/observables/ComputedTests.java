@@ -0,0 +1,221 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Computed Subjects")
+public class ComputedTests {
+    @Nested
+    @DisplayName("Given a computed sum that nobody observes")
+    class GivenUnobserved {
+        PlainMutableSubject<Integer> a = new PlainMutableSubject<>(1);
+        PlainMutableSubject<Integer> b = new PlainMutableSubject<>(2);
+        AtomicInteger runs = new AtomicInteger();
+        Computed<Integer> sum = new Computed<>(() -> {
+            runs.incrementAndGet();
+            return a.getValue() + b.getValue();
+        });
+
+        @Test
+        @DisplayName("Then it isn't computed until read")
+        void ThenComputedOnRead() {
+            assertThat(runs.get(), is(0));
+            assertThat(sum.getValue(), is(3));
+            assertThat(runs.get(), is(1));
+        }
+
+        @Test
+        @DisplayName("When read again with nothing changed, then the cached value is returned")
+        void ThenCached() {
+            sum.getValue();
+            sum.getValue();
+            assertThat(runs.get(), is(1));
+        }
+
+        @Test
+        @DisplayName("When a dependency changes, then the next read computes again, once")
+        void ThenInvalidatedLazily() {
+            sum.getValue();
+            a.setValue(10);
+            a.setValue(20);
+            assertThat(runs.get(), is(1));
+
+            assertThat(sum.getValue(), is(22));
+            assertThat(sum.getValue(), is(22));
+            assertThat(runs.get(), is(2));
+        }
+
+        @Test
+        @DisplayName("Then it doesn't keep its dependencies busy")
+        void ThenDoesNotObserveDependencies() {
+            sum.getValue();
+            assertThat(sum.getSourceSubjects(), containsInAnyOrder(a, b));
+            assertThat(a.hasObservers(), is(false));
+            assertThat(b.hasObservers(), is(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given an observed computed subject")
+    class GivenObserved {
+        PlainMutableSubject<Integer> a = new PlainMutableSubject<>(1);
+        PlainMutableSubject<Integer> b = new PlainMutableSubject<>(2);
+        Computed<Integer> sum = new Computed<>(() -> a.getValue() + b.getValue());
+        List<Integer> received = new ArrayList<>();
+        Observer<Integer> observer = sum.observe(received::add);
+
+        @Test
+        @DisplayName("Then it observes exactly what it read, and is notified of changes")
+        void ThenFollowsDependencies() {
+            assertThat(a.hasObservers(), is(true));
+            assertThat(b.hasObservers(), is(true));
+
+            a.setValue(10);
+            b.setValue(20);
+            assertThat(received, contains(3, 12, 30));
+        }
+
+        @Test
+        @DisplayName("When the last observer leaves, then it disconnects")
+        void ThenDisconnects() {
+            sum.removeObserver(observer);
+            assertThat(a.hasObservers(), is(false));
+            assertThat(b.hasObservers(), is(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a computed subject that branches")
+    class GivenBranching {
+        PlainMutableSubject<Boolean> useA = new PlainMutableSubject<>(true);
+        PlainMutableSubject<String> a = new PlainMutableSubject<>("a");
+        PlainMutableSubject<String> b = new PlainMutableSubject<>("b");
+        AtomicInteger runs = new AtomicInteger();
+        Computed<String> chosen = new Computed<>(() -> {
+            runs.incrementAndGet();
+            return useA.getValue() ? a.getValue() : b.getValue();
+        });
+        List<String> received = new ArrayList<>();
+
+        {
+            chosen.observe(received::add);
+        }
+
+        @Test
+        @DisplayName("When the branch switches, then the dependencies switch with it")
+        void ThenDependenciesFollowBranch() {
+            assertThat(chosen.getSourceSubjects(), containsInAnyOrder(useA, a));
+
+            useA.setValue(false);
+            assertThat(chosen.getSourceSubjects(), containsInAnyOrder(useA, b));
+            assertThat(a.hasObservers(), is(false));
+            assertThat(received, contains("a", "b"));
+        }
+
+        @Test
+        @DisplayName("When a subject off the current branch changes, then nothing is computed")
+        void ThenIgnoresOtherBranch() {
+            int before = runs.get();
+            b.setValue("bb");
+            assertThat(runs.get(), is(before));
+            assertThat(received, contains("a"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given computed subjects built on each other")
+    class GivenChain {
+        PlainMutableSubject<Integer> base = new PlainMutableSubject<>(1);
+        AtomicInteger doubledRuns = new AtomicInteger();
+        Computed<Integer> doubled = new Computed<>(() -> {
+            doubledRuns.incrementAndGet();
+            return base.getValue() * 2;
+        });
+        AtomicInteger summaryRuns = new AtomicInteger();
+        // A diamond: reads base both directly and through doubled.
+        Computed<String> summary = new Computed<>(() -> {
+            summaryRuns.incrementAndGet();
+            return base.getValue() + "x2=" + doubled.getValue();
+        });
+
+        @Test
+        @DisplayName("When observed, then one change recomputes each subject once, never half-updated")
+        void ThenGlitchFree() {
+            var received = new ArrayList<String>();
+            summary.observe(received::add);
+            summaryRuns.set(0);
+
+            base.setValue(5);
+            assertThat(received, contains("1x2=2", "5x2=10"));
+            assertThat(summaryRuns.get(), is(1));
+        }
+
+        @Test
+        @DisplayName("When unobserved, then reading recomputes only what changed")
+        void ThenLazyThroughChain() {
+            assertThat(summary.getValue(), is("1x2=2"));
+            assertThat(summary.getValue(), is("1x2=2"));
+            assertThat(doubledRuns.get(), is(1));
+            assertThat(summaryRuns.get(), is(1));
+
+            base.setValue(3);
+            assertThat(summary.getValue(), is("3x2=6"));
+            assertThat(doubledRuns.get(), is(2));
+            assertThat(summaryRuns.get(), is(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a computed subject over unobserved derived subjects")
+    class GivenOverDerived {
+        PlainMutableSubject<Integer> a = new PlainMutableSubject<>(1);
+        PlainMutableSubject<Integer> b = new PlainMutableSubject<>(2);
+        Subject<Integer> doubled = Transformations.map(a, x -> x * 2);
+        Subject<Integer> sum = Transformations.combine(a, b, Integer::sum);
+        AtomicInteger runs = new AtomicInteger();
+        Computed<Integer> total = new Computed<>(() -> {
+            runs.incrementAndGet();
+            return doubled.getValue() + sum.getValue();
+        });
+
+        @Test
+        @DisplayName("When read again with nothing changed, then the cached value is returned")
+        void ThenCached() {
+            assertThat(total.getValue(), is(5));
+            assertThat(total.getValue(), is(5));
+            assertThat(total.getValue(), is(5));
+            assertThat(runs.get(), is(1));
+        }
+
+        @Test
+        @DisplayName("When a source upstream changes, then the next read computes again, once")
+        void ThenInvalidatedThroughDerived() {
+            total.getValue();
+            b.setValue(10);
+            assertThat(total.getValue(), is(13));
+            assertThat(total.getValue(), is(13));
+            assertThat(runs.get(), is(2));
+        }
+    }
+
+    @Test
+    @DisplayName("A computed subject that reads itself fails instead of looping")
+    void testCycleFails() {
+        var self = new AtomicReference<Computed<Integer>>();
+        self.set(new Computed<>(() -> self.get().getValue() + 1));
+
+        assertThrows(IllegalStateException.class, () -> self.get().getValue());
+    }
+}
@@ -2,19 +2,218 @@ package edu.ucsd.cse110.observables;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
+/**
+ * Stress tests: many threads hammering the same subjects at once. Each runs in well under a
+ * second; the throughput of the same operation mixes is measured by
+ * {@code ConcurrentMixBenchmark} in the benchmarks module.
+ */
 public class ConcurrencyTests {
+    static final int THREADS = 8;
+    static final int OPS = 5_000;
+
+    /**
+     * Run the body on the given number of threads, all released at once, and wait for them.
+     * Rethrows the first failure from any of them.
+     */
+    static void race(int threads, ThreadBody body) throws InterruptedException {
+        var start = new CountDownLatch(1);
+        var failure = new AtomicReference<Throwable>();
+        var workers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            var worker = new Thread(() -> {
+                try {
+                    start.await();
+                    body.run(index);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (var worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+            assertThat("thread finished", worker.isAlive(), is(false));
+        }
+        if (failure.get() != null) throw new AssertionError(failure.get());
+    }
+
+    interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+
     @Test
     void testNoConcurrentAccessModification() {
         var subject = new PlainMutableSubject<Integer>();
+        var received = new ArrayList<Integer>();
 
-//        Observer<Integer> observer = () -> {
-//            subject.removeObserver(observer);
-//        };
-//
-//        subject.observe();
+        subject.observe(new Observer<>() {
+            @Override
+            public void onChanged(Integer value) {
+                received.add(value);
+                subject.removeObserver(this);
+            }
+        });
 
         assertDoesNotThrow(() -> subject.setValue(1));
+        subject.setValue(2);
+        assertThat(received, contains(1));
+    }
+
+    @Test
+    void testEveryConcurrentWriteIsNotifiedOnce() throws InterruptedException {
+        var subject = new PlainMutableSubject<Integer>();
+        var seen = ConcurrentHashMap.<Integer>newKeySet();
+        var duplicates = new AtomicInteger();
+        // Last value seen from each writer, to check each writer's values arrive in order.
+        var lastByWriter = new int[THREADS];
+        var outOfOrder = new AtomicInteger();
+        subject.observe(value -> {
+            if (!seen.add(value)) duplicates.incrementAndGet();
+            int writer = value % THREADS;
+            synchronized (lastByWriter) {
+                if (value <= lastByWriter[writer]) outOfOrder.incrementAndGet();
+                lastByWriter[writer] = value;
+            }
+        });
+
+        race(THREADS + 2, thread -> {
+            if (thread >= THREADS) {
+                // Churn other observers on the side.
+                for (int i = 0; i < OPS; i++) {
+                    Observer<Integer> churned = value -> { };
+                    subject.observe(churned);
+                    subject.removeObserver(churned);
+                }
+                return;
+            }
+            for (int i = 1; i <= OPS; i++) subject.setValue(i * THREADS + thread);
+        });
+
+        assertThat(seen.size(), is(THREADS * OPS));
+        assertThat(duplicates.get(), is(0));
+        assertThat(outOfOrder.get(), is(0));
+        assertThat(subject.getVersioned().version(), is((long) THREADS * OPS));
+        assertThat(subject.getObservers().size(), is(1));
+    }
+
+    @Test
+    void testCompareAndSetIsLinearizable() throws InterruptedException {
+        var subject = new PlainMutableSubject<>(0);
+        var notified = new AtomicInteger();
+        subject.observe(value -> notified.incrementAndGet());
+
+        race(THREADS, thread -> {
+            for (int i = 0; i < OPS; i++) {
+                Versioned<Integer> current;
+                do {
+                    current = subject.getVersioned();
+                } while (!subject.setValueIfVersion(current.value() + 1, current.version()));
+            }
+        });
+
+        // Every increment saw the one before it: none were lost to a concurrent write.
+        assertThat(subject.getValue(), is(THREADS * OPS));
+        assertThat(subject.getVersioned().version(), is(THREADS * OPS + 1L));
+        assertThat(notified.get(), is(THREADS * OPS + 1));
+    }
+
+    @Test
+    void testMediatorStaysConnectedWhileObserved() throws InterruptedException {
+        var source = new PlainMutableSubject<>(0);
+        var derived = Transformations.map(source, value -> value + 1);
+
+        race(THREADS, thread -> {
+            for (int i = 0; i < OPS; i++) {
+                Observer<Integer> observer = value -> { };
+                derived.observe(observer);
+                if (i % 3 == 0) derived.getValue(); // pulls while others connect and disconnect
+                derived.removeObserver(observer);
+            }
+        });
+
+        // Whatever the interleaving, the derived subject ends up disconnected, and observing it
+        // again connects it.
+        assertThat(source.hasObservers(), is(false));
+        var received = new ArrayList<Integer>();
+        derived.observe(received::add);
+        source.setValue(41);
+        assertThat(source.hasObservers(), is(true));
+        assertThat(received, contains(1, 42));
+    }
+
+    @Test
+    void testConcurrentObserversOfMediatorMissNothing() throws InterruptedException {
+        var source = new PlainMutableSubject<>(0);
+        var derived = Transformations.map(source, value -> value);
+        var writes = new AtomicInteger();
+        var missed = new AtomicInteger();
+
+        race(THREADS, thread -> {
+            if (thread == 0) {
+                for (int i = 1; i <= OPS; i++) {
+                    source.setValue(i);
+                    writes.incrementAndGet();
+                }
+                return;
+            }
+            for (int i = 0; i < OPS / 10; i++) {
+                // While observed, the derived subject must follow every write.
+                var received = new AtomicInteger();
+                Observer<Integer> observer = value -> received.incrementAndGet();
+                derived.observe(observer);
+                int before = writes.get();
+                Thread.yield();
+                int after = writes.get();
+                derived.removeObserver(observer);
+                // At least the initial value, plus every write that finished while observed.
+                if (received.get() < 1 + Math.max(0, after - before - 1)) missed.incrementAndGet();
+            }
+        });
+
+        assertThat(missed.get(), is(0));
+        assertThat(source.hasObservers(), is(false));
+    }
+
+    @Test
+    void testConcurrentAddAndRemoveSource() throws InterruptedException {
+        var mediator = new PlainMediatorSubject<Integer>();
+        var keep = new PlainMutableSubject<>(0);
+        mediator.addSource(keep, mediator::setValue);
+        var sources = new ArrayList<PlainMutableSubject<Integer>>();
+        for (int t = 0; t < THREADS; t++) sources.add(new PlainMutableSubject<>(t));
+        var received = new AtomicInteger();
+        mediator.observe(value -> received.incrementAndGet());
+
+        race(THREADS, thread -> {
+            var mine = sources.get(thread);
+            for (int i = 0; i < OPS; i++) {
+                mediator.addSource(mine, value -> { });
+                mine.setValue(i);
+                mediator.removeSource(mine);
+            }
+        });
+
+        // Removed sources are no longer observed, and the one that stayed still is.
+        for (var source : sources) assertThat(source.hasObservers(), is(false));
+        assertThat(mediator.getSourceSubjects(), is(List.of(keep)));
+        received.set(0);
+        keep.setValue(1);
+        assertThat(received.get(), is(1));
     }
 }
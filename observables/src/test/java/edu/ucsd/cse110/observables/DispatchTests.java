@@ -0,0 +1,194 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Executor Dispatch")
+public class DispatchTests {
+    /**
+     * An executor that only runs tasks when asked, standing in for a busy main thread.
+     */
+    static class QueuedExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) task.run();
+        }
+    }
+
+    @Nested
+    @DisplayName("Given an observer registered with an executor")
+    class GivenExecutorObserver {
+        PlainMutableSubject<Integer> subject = new PlainMutableSubject<>();
+        QueuedExecutor executor = new QueuedExecutor();
+        List<Integer> received = new ArrayList<>();
+        Observer<Integer> observer = subject.observe(executor, received::add);
+
+        @Test
+        @DisplayName("Then it is called on the executor, not inline")
+        void ThenCalledOnExecutor() {
+            subject.setValue(1);
+            assertThat(received, is(empty()));
+
+            executor.runAll();
+            assertThat(received, contains(1));
+        }
+
+        @Test
+        @DisplayName("Then values that arrive while it lags are conflated to the latest")
+        void ThenConflated() {
+            subject.setValue(1);
+            subject.setValue(2);
+            subject.setValue(3);
+            assertThat(executor.tasks.size(), is(1));
+
+            executor.runAll();
+            assertThat(received, contains(3));
+
+            subject.setValue(4);
+            executor.runAll();
+            assertThat(received, contains(3, 4));
+        }
+
+        @Test
+        @DisplayName("Then it is not called after being removed, even if a delivery was queued")
+        void ThenNotCalledAfterRemoval() {
+            subject.setValue(1);
+            subject.removeObserver(observer);
+
+            executor.runAll();
+            assertThat(received, is(empty()));
+            assertThat(subject.hasObservers(), is(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a subject with a post executor")
+    class GivenPostExecutor {
+        PlainMutableSubject<String> subject = new PlainMutableSubject<>();
+        QueuedExecutor executor = new QueuedExecutor();
+        List<String> received = new ArrayList<>();
+
+        {
+            subject.setPostExecutor(executor);
+            subject.observe(received::add);
+        }
+
+        @Test
+        @DisplayName("When values are posted, then only the latest is applied on the executor")
+        void ThenLatestPostIsApplied() {
+            subject.postValue("a");
+            subject.postValue("b");
+            subject.postValue("c");
+            assertThat(subject.isInitialized(), is(false));
+
+            executor.runAll();
+            assertThat(received, contains("c"));
+            assertThat(subject.getValue(), is("c"));
+        }
+
+        @Test
+        @DisplayName("When values are posted from other threads, then the last one wins")
+        void ThenSafeFromOtherThreads() throws InterruptedException {
+            var pool = Executors.newFixedThreadPool(4);
+            var done = new CountDownLatch(400);
+            for (int i = 0; i < 400; i++) {
+                pool.execute(() -> {
+                    subject.postValue("worker");
+                    done.countDown();
+                });
+            }
+            assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+            pool.shutdown();
+
+            executor.runAll();
+            assertThat(subject.getValue(), is("worker"));
+            assertThat(received.isEmpty(), is(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given an observer that sets values while being notified")
+    class GivenReentrantObserver {
+        PlainMutableSubject<Integer> subject = new PlainMutableSubject<>();
+        List<String> received = new ArrayList<>();
+
+        {
+            subject.observe(value -> {
+                received.add("first=" + value);
+                if (value < 3) subject.setValue(value + 1);
+            });
+            subject.observe(value -> received.add("second=" + value));
+        }
+
+        @Test
+        @DisplayName("Then every observer sees each value before the next one, in order")
+        void ThenValuesArriveInOrder() {
+            subject.setValue(1);
+
+            assertThat(received, contains(
+                    "first=1", "second=1",
+                    "first=2", "second=2",
+                    "first=3", "second=3"));
+        }
+
+        @Test
+        @DisplayName("Then the outermost setValue returns only once everything is delivered")
+        void ThenDeliveredOnReturn() {
+            subject.setValue(2);
+            assertThat(subject.getValue(), is(3));
+            assertThat(received, contains("first=2", "second=2", "first=3", "second=3"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a deep chain of mapped subjects")
+    class GivenDeepChain {
+        PlainMutableSubject<Integer> source = new PlainMutableSubject<>(0);
+        int[] stackDepths = new int[2];
+        Subject<Integer> leaf;
+
+        {
+            Subject<Integer> current = Transformations.map(source, value -> {
+                stackDepths[0] = Thread.currentThread().getStackTrace().length;
+                return value;
+            });
+            for (int i = 0; i < 200; i++) current = Transformations.map(current, value -> value + 1);
+            leaf = Transformations.map(current, value -> {
+                stackDepths[1] = Thread.currentThread().getStackTrace().length;
+                return value;
+            });
+            leaf.observe(value -> { });
+        }
+
+        @Test
+        @DisplayName("When the source is set, then the stack does not grow along the chain")
+        void ThenStackDoesNotGrow() {
+            source.setValue(1);
+
+            assertThat(leaf.getValue(), is(201));
+            assertThat(Math.abs(stackDepths[1] - stackDepths[0]) < 20, is(true));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Disposable Registrations")
+public class DisposableTests {
+    PlainMutableSubject<Integer> subject = new PlainMutableSubject<>(0);
+    List<Integer> received = new ArrayList<>();
+
+    @Nested
+    @DisplayName("Given a subscription")
+    class GivenSubscription {
+        Disposable subscription = subject.subscribe(received::add);
+
+        @Test
+        @DisplayName("When it is disposed of, then the observer is unregistered")
+        void ThenDisposeUnregisters() {
+            subject.setValue(1);
+            subscription.dispose();
+            subject.setValue(2);
+
+            assertThat(received, contains(0, 1));
+            assertThat(subject.hasObservers(), is(false));
+            assertThat(subscription.isDisposed(), is(true));
+        }
+
+        @Test
+        @DisplayName("When it is scoped with try-with-resources, then it ends with the block")
+        void ThenCloseUnregisters() {
+            Disposable scoped;
+            try (var subscription = subject.subscribe(value -> received.add(-value))) {
+                scoped = subscription;
+                subject.setValue(1);
+                assertThat(subscription.isDisposed(), is(false));
+            }
+            assertThat(scoped.isDisposed(), is(true));
+            subject.setValue(2);
+
+            assertThat(received, contains(0, 0, 1, -1, 2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a composite disposable")
+    class GivenComposite {
+        CompositeDisposable subscriptions = new CompositeDisposable();
+        PlainMutableSubject<Integer> other = new PlainMutableSubject<>(10);
+
+        {
+            subscriptions.add(subject.subscribe(received::add));
+            subscriptions.add(other.subscribe(received::add));
+        }
+
+        @Test
+        @DisplayName("When it is cleared, then every registration ends and it stays usable")
+        void ThenClearUnregistersAll() {
+            subscriptions.clear();
+            assertThat(subject.hasObservers(), is(false));
+            assertThat(other.hasObservers(), is(false));
+
+            subscriptions.add(subject.subscribe(received::add));
+            assertThat(subscriptions.size(), is(1));
+            assertThat(subject.hasObservers(), is(true));
+        }
+
+        @Test
+        @DisplayName("When it is disposed of, then registrations added later end right away")
+        void ThenDisposeIsFinal() {
+            subscriptions.dispose();
+            var late = subscriptions.add(subject.subscribe(received::add));
+
+            assertThat(late.isDisposed(), is(true));
+            assertThat(subject.hasObservers(), is(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a weakly held observer")
+    class GivenWeakObserver {
+        @Test
+        @DisplayName("While it is referenced, then it is notified")
+        void ThenNotifiedWhileReferenced() {
+            Observer<Integer> observer = received::add;
+            subject.observeWeakly(observer);
+            subject.setValue(1);
+
+            assertThat(received, contains(0, 1));
+        }
+
+        @Test
+        @DisplayName("When it is no longer referenced, then it is unregistered")
+        void ThenUnregisteredOnceCollected() {
+            var collected = registerUnreferenced();
+            awaitCollection(collected);
+
+            subject.setValue(1);
+            assertThat(subject.hasObservers(), is(false));
+        }
+
+        @Test
+        @DisplayName("When the subject doesn't notify, then the next weak registration cleans up")
+        void ThenPurgedOnRegistration() {
+            var collected = registerUnreferenced();
+            awaitCollection(collected);
+
+            Observer<Integer> observer = received::add;
+            new PlainMutableSubject<Integer>().observeWeakly(observer);
+            assertThat(subject.hasObservers(), is(false));
+        }
+
+        WeakReference<Observer<Integer>> registerUnreferenced() {
+            // Capturing, so it is a fresh instance rather than a constant that is never collected
+            Observer<Integer> observer = received::add;
+            subject.observeWeakly(observer);
+            assertThat(subject.hasObservers(), is(true));
+            return new WeakReference<>(observer);
+        }
+
+        void awaitCollection(WeakReference<?> ref) {
+            for (int i = 0; i < 50 && ref.get() != null; i++) {
+                System.gc();
+                Thread.onSpinWait();
+            }
+            assertThat("observer was not collected", ref.get() == null, is(true));
+            // Give the reference handler a moment to enqueue it.
+            for (int i = 0; i < 50; i++) {
+                System.gc();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a leak detector is installed")
+    class GivenLeakDetector {
+        List<Integer> reports = new ArrayList<>();
+
+        {
+            Subjects.setMetrics(new LeakDetector(4, (subject, name, observers) -> reports.add(observers)));
+            subject.setName("leaky");
+        }
+
+        @AfterEach
+        void uninstall() {
+            Subjects.setMetrics(null);
+        }
+
+        @Test
+        @DisplayName("When observers keep piling up, then it is reported at the threshold and each doubling")
+        void ThenReportsGrowth() {
+            for (int i = 0; i < 20; i++) subject.observe(received::add);
+
+            assertThat(reports, contains(4, 8, 16));
+        }
+
+        @Test
+        @DisplayName("When observers come and go, then nothing is reported")
+        void ThenQuietWhenBalanced() {
+            for (int i = 0; i < 20; i++) {
+                subject.subscribe(received::add).dispose();
+            }
+
+            assertThat(reports.isEmpty(), is(true));
+        }
+    }
+}
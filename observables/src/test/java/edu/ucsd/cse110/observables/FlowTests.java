@@ -0,0 +1,211 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Flow Bridge")
+public class FlowTests {
+    /**
+     * A subscriber that only requests when told to, and records what it gets.
+     */
+    static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> received = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    /**
+     * A publisher that emits by hand, and records how much its subscriber asked for.
+     */
+    static class ManualPublisher<T> implements Flow.Publisher<T>, Flow.Subscription {
+        Flow.Subscriber<? super T> subscriber;
+        long requested = 0;
+        boolean cancelled = false;
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(this);
+        }
+
+        void emit(T item) {
+            assertThat("emitted without demand", requested > 0, is(true));
+            requested--;
+            subscriber.onNext(item);
+        }
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a subject published with the latest policy")
+    class GivenLatest {
+        PlainMutableSubject<Integer> subject = new PlainMutableSubject<>(0);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+
+        {
+            Flows.toPublisher(subject).subscribe(subscriber);
+        }
+
+        @Test
+        @DisplayName("Then nothing is delivered before it is requested")
+        void ThenWaitsForDemand() {
+            subject.setValue(1);
+            assertThat(subscriber.received, is(empty()));
+        }
+
+        @Test
+        @DisplayName("When values arrive without demand, then only the latest is delivered on request")
+        void ThenDeliversLatest() {
+            subject.setValue(1);
+            subject.setValue(2);
+            subject.setValue(3);
+            subscriber.subscription.request(1);
+            assertThat(subscriber.received, contains(3));
+
+            subject.setValue(4);
+            assertThat(subscriber.received, contains(3));
+        }
+
+        @Test
+        @DisplayName("When demand is outstanding, then values are delivered as they're set")
+        void ThenDeliversOnDemand() {
+            subscriber.subscription.request(3);
+            subject.setValue(1);
+            subject.setValue(2);
+            assertThat(subscriber.received, contains(0, 1, 2));
+        }
+
+        @Test
+        @DisplayName("When cancelled, then it stops observing the subject")
+        void ThenCancelStopsObserving() {
+            subscriber.subscription.cancel();
+            assertThat(subject.hasObservers(), is(false));
+        }
+
+        @Test
+        @DisplayName("When a non-positive amount is requested, then the subscriber gets an error")
+        void ThenBadRequestFails() {
+            subscriber.subscription.request(0);
+            assertThat(subscriber.error, instanceOf(IllegalArgumentException.class));
+            assertThat(subject.hasObservers(), is(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a subject published with other policies")
+    class GivenPolicies {
+        PlainMutableSubject<Integer> subject = new PlainMutableSubject<>();
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+
+        @Test
+        @DisplayName("When dropping, then values set without demand are lost")
+        void ThenDropsWithoutDemand() {
+            Flows.toPublisher(subject, OverflowPolicy.drop()).subscribe(subscriber);
+            subscriber.subscription.request(1);
+            subject.setValue(1);
+            subject.setValue(2);
+            subscriber.subscription.request(1);
+            subject.setValue(3);
+            assertThat(subscriber.received, contains(1, 3));
+        }
+
+        @Test
+        @DisplayName("When buffering, then up to the capacity of the latest values are kept")
+        void ThenBuffersLatest() {
+            Flows.toPublisher(subject, OverflowPolicy.buffer(2)).subscribe(subscriber);
+            subject.setValue(1);
+            subject.setValue(2);
+            subject.setValue(3);
+            subscriber.subscription.request(5);
+            assertThat(subscriber.received, contains(2, 3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a publisher feeding a subject")
+    class GivenSubscribedSubject {
+        ManualPublisher<Integer> publisher = new ManualPublisher<>();
+        PlainMutableSubject<Integer> subject = new PlainMutableSubject<>();
+
+        @Test
+        @DisplayName("Then each value is set, and replaced by a request for one more")
+        void ThenSetsAndRequests() {
+            Flows.subscribe(publisher, subject);
+            assertThat(publisher.requested, is(1L));
+
+            publisher.emit(1);
+            assertThat(subject.getValue(), is(1));
+            assertThat(publisher.requested, is(1L));
+        }
+
+        @Test
+        @DisplayName("When the executor lags, then no more is requested and only the latest is set")
+        void ThenHoldsBackPublisher() {
+            var executor = new DispatchTests.QueuedExecutor();
+            Flows.subscribe(publisher, subject, executor, 3);
+
+            publisher.emit(1);
+            publisher.emit(2);
+            publisher.emit(3);
+            assertThat(publisher.requested, is(0L));
+
+            var received = new ArrayList<Integer>();
+            subject.observe(received::add);
+            executor.runAll();
+            assertThat(received, contains(3));
+            assertThat(publisher.requested, is(3L));
+        }
+
+        @Test
+        @DisplayName("When cancelled, then the publisher is cancelled and nothing more is set")
+        void ThenCancels() {
+            var executor = new DispatchTests.QueuedExecutor();
+            var subscription = Flows.subscribe(publisher, subject, executor, 1);
+            publisher.emit(1);
+            subscription.cancel();
+            executor.runAll();
+
+            assertThat(publisher.cancelled, is(true));
+            assertThat(subject.isInitialized(), is(false));
+        }
+    }
+}
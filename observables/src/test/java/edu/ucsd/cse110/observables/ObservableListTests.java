@@ -0,0 +1,96 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Observable Lists")
+public class ObservableListTests {
+    @Nested
+    @DisplayName("Given an observed list")
+    class GivenObservedList {
+        ObservableList<String> list = new ObservableList<>(List.of("a", "b", "c", "d"));
+        List<String> mirror = new ArrayList<>(list);
+        List<ListChange<String>> changes = new ArrayList<>();
+
+        {
+            list.observeChanges(changes::add);
+        }
+
+        @Test
+        @DisplayName("When elements are added, then each add is an insert")
+        void ThenAddIsInsert() {
+            list.add("e");
+            list.add(0, "z");
+
+            assertThat(changes, contains(
+                    new ListChange<>(ListChange.Kind.INSERT, 4, 4, List.of("e")),
+                    new ListChange<>(ListChange.Kind.INSERT, 0, 0, List.of("z"))));
+        }
+
+        @Test
+        @DisplayName("When a range is removed, then it is a single removal")
+        void ThenRangeRemovalIsSingle() {
+            list.subList(1, 3).clear();
+
+            assertThat(changes, contains(new ListChange<>(ListChange.Kind.REMOVE, 1, 1, List.of("b", "c"))));
+            assertThat(list, contains("a", "d"));
+        }
+
+        @Test
+        @DisplayName("When an element is moved, then it is a single move")
+        void ThenMoveIsSingle() {
+            list.move(3, 1);
+
+            assertThat(changes, contains(new ListChange<>(ListChange.Kind.MOVE, 3, 1, List.of("d"))));
+            assertThat(list, contains("a", "d", "b", "c"));
+        }
+
+        @Test
+        @DisplayName("When any changes are replayed on a mirror, then it matches the list")
+        void ThenReplayMatches() {
+            list.add(2, "x");
+            list.set(0, "y");
+            list.move(0, 4);
+            list.remove("c");
+            list.addAll(1, List.of("p", "q"));
+            list.sort(Comparator.reverseOrder());
+            list.subList(0, 2).clear();
+
+            for (var change : changes) change.applyTo(mirror);
+            assertThat(mirror, is(list));
+        }
+
+        @Test
+        @DisplayName("When changes are recorded, then only those made by the block are returned")
+        void ThenRecordsBlock() {
+            list.add("before");
+            var recorded = list.recordChanges(() -> list.move(0, 1));
+            list.add("after");
+
+            assertThat(recorded, hasSize(1));
+            assertThat(recorded.get(0).kind(), is(ListChange.Kind.MOVE));
+            assertThat(changes, hasSize(3));
+        }
+
+        @Test
+        @DisplayName("When cleared, then it is a single removal of everything")
+        void ThenClearIsSingleRemoval() {
+            list.clear();
+            list.clear();
+
+            assertThat(changes, contains(new ListChange<>(ListChange.Kind.REMOVE, 0, 0, List.of("a", "b", "c", "d"))));
+            assertThat(list, is(empty()));
+        }
+    }
+}
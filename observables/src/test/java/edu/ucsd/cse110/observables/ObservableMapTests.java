@@ -0,0 +1,223 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+@DisplayName("Observable Maps")
+public class ObservableMapTests {
+    @Nested
+    @DisplayName("Given a new empty map")
+    class GivenEmptyMap {
+        ObservableMap<Integer, String> map = new ObservableMap<>();
+
+        @Test
+        @DisplayName("Then its whole-map subject is uninitialized")
+        void ThenUninitialized() {
+            assertThat(map.asSubject().isInitialized(), is(false));
+            assertThat(map.asSubject().getValue(), is(nullValue()));
+        }
+
+        @Test
+        @DisplayName("When a key is put, then a subject asked for earlier receives it")
+        void ThenEarlyKeySubjectReceives() {
+            var subject = map.subject(1);
+            List<String> received = new ArrayList<>();
+            subject.observe(received::add);
+
+            map.put(1, "one");
+            assertThat(received, contains("one"));
+            assertThat(map.subject(1), is(sameInstance(subject)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a map with change observers")
+    class GivenObservedMap {
+        ObservableMap<Integer, String> map = new ObservableMap<>();
+        List<MapChange<Integer, String>> changes = new ArrayList<>();
+
+        {
+            map.put(1, "one");
+            map.observeChanges(changes::add);
+        }
+
+        @Test
+        @DisplayName("Then nothing is delivered on registration")
+        void ThenNothingOnRegistration() {
+            assertThat(changes, is(empty()));
+        }
+
+        @Test
+        @DisplayName("When keys are put, updated and removed, then each is reported")
+        void ThenEachChangeIsReported() {
+            map.put(2, "two");
+            map.put(1, "uno");
+            map.remove(2);
+            map.remove(3); // not present
+
+            assertThat(changes, contains(
+                    new MapChange<>(MapChange.Kind.PUT, 2, null, "two"),
+                    new MapChange<>(MapChange.Kind.UPDATE, 1, "one", "uno"),
+                    new MapChange<>(MapChange.Kind.REMOVE, 2, "two", null)));
+        }
+
+        @Test
+        @DisplayName("When a key is written, then only that key's subject is notified")
+        void ThenOnlyThatKeyIsNotified() {
+            List<String> first = new ArrayList<>();
+            List<String> second = new ArrayList<>();
+            map.subject(1).observe(first::add);
+            map.subject(2).observe(second::add);
+
+            map.put(2, "two");
+            assertThat(first, contains("one"));
+            assertThat(second, contains("two"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a snapshot of a map")
+    class GivenSnapshot {
+        ObservableMap<Integer, String> map = new ObservableMap<>();
+        Map<Integer, String> snapshot;
+
+        {
+            map.put(1, "one");
+            snapshot = map.snapshot();
+        }
+
+        @Test
+        @DisplayName("Then taking another without writing returns the same snapshot")
+        void ThenSnapshotIsReused() {
+            assertThat(map.snapshot(), is(sameInstance(snapshot)));
+        }
+
+        @Test
+        @DisplayName("When the map is written, then the snapshot is unaffected")
+        void ThenSnapshotIsStable() {
+            map.put(2, "two");
+            map.remove(1);
+
+            assertThat(snapshot, is(Map.of(1, "one")));
+            assertThat(map.snapshot(), is(Map.of(2, "two")));
+        }
+
+        @Test
+        @DisplayName("When the whole map is observed, then every write publishes a snapshot")
+        void ThenWholeMapObserved() {
+            List<Map<Integer, String>> received = new ArrayList<>();
+            Observer<Map<Integer, String>> observer = map.asSubject().observe(received::add);
+            map.put(2, "two");
+
+            assertThat(received, contains(Map.of(1, "one"), Map.of(1, "one", 2, "two")));
+            map.asSubject().removeObserver(observer);
+            map.put(3, "three");
+            assertThat(map.asSubject().getValue(), is(Map.of(1, "one", 2, "two", 3, "three")));
+        }
+
+        @Test
+        @DisplayName("When the whole map is observed, then a batch of writes copies it at most once")
+        void ThenBatchCopiesOnce() {
+            List<Map<Integer, String>> received = new ArrayList<>();
+            map.asSubject().observe(received::add);
+            long before = map.copyCount();
+
+            Subjects.batch(() -> {
+                for (int i = 2; i <= 1000; i++) map.put(i, "n" + i);
+                map.remove(1);
+            });
+
+            assertThat(map.copyCount() - before, is(1L));
+            assertThat(received.size(), is(2));
+            assertThat(received.get(1).size(), is(999));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given key subjects nobody holds on to")
+    class GivenUnusedKeySubjects {
+        ObservableMap<Integer, String> map = new ObservableMap<>();
+
+        @Test
+        @DisplayName("Then they are dropped once collected, unless observed")
+        void ThenUnusedAreDropped() {
+            List<String> received = new ArrayList<>();
+            map.subject(0).observe(received::add);
+            var unused = askForUnknownKey();
+            awaitCollection(unused);
+
+            map.put(1, "one");
+            assertThat(map.keySubjectCount(), is(1));
+
+            map.put(0, "zero");
+            assertThat(received, contains("zero"));
+        }
+
+        WeakReference<Subject<String>> askForUnknownKey() {
+            var subject = map.subject(1);
+            assertThat(map.subject(1), is(sameInstance(subject)));
+            assertThat(map.keySubjectCount(), is(2));
+            return new WeakReference<>(subject);
+        }
+
+        void awaitCollection(WeakReference<?> ref) {
+            for (int i = 0; i < 50 && ref.get() != null; i++) {
+                System.gc();
+                Thread.onSpinWait();
+            }
+            assertThat("subject was not collected", ref.get() == null, is(true));
+            // Give the reference handler a moment to enqueue it.
+            for (int i = 0; i < 50; i++) {
+                System.gc();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Threads writing the same key leave its subject with the map's value")
+    void testConcurrentWritesToOneKey() throws InterruptedException {
+        var map = new ObservableMap<String, Integer>();
+        var subject = map.subject("key");
+        subject.observe(received -> { });
+
+        var pool = Executors.newFixedThreadPool(4);
+        var start = new CountDownLatch(1);
+        for (int thread = 0; thread < 4; thread++) {
+            int offset = thread * 10_000;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 2_000; i++) map.put("key", offset + i);
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+        assertThat(subject.getValue(), is(map.get("key")));
+    }
+}
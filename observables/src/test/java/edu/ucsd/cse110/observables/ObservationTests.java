@@ -5,10 +5,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -149,6 +152,56 @@ public class ObservationTests {
             }
         }
 
+        @Nested
+        @DisplayName("When several observers are registered")
+        class WhenSeveralRegistered {
+            @Test
+            @DisplayName("Then they are notified in registration order")
+            void ThenNotifiedInOrder() {
+                List<Integer> calls = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                    int id = i;
+                    subject.observe(value -> calls.add(id));
+                }
+
+                subject.setValue(UPDATE_VALUE);
+
+                assertThat(calls, contains(0, 1, 2, 3, 4));
+            }
+
+            @Test
+            @DisplayName("Then one removed mid-notification is not called")
+            void ThenRemovedDuringNotificationIsSkipped() {
+                List<String> calls = new ArrayList<>();
+                Observer<String> second = value -> calls.add("second");
+                subject.observe(value -> {
+                    calls.add("first");
+                    subject.removeObserver(second);
+                });
+                subject.observe(second);
+
+                subject.setValue(UPDATE_VALUE);
+
+                assertThat(calls, contains("first"));
+                assertThat(subject.getObservers(), hasSize(1));
+            }
+
+            @Test
+            @DisplayName("Then removing one keeps the order of the rest")
+            void ThenRemovalKeepsOrder() {
+                Observer<String> first = value -> { };
+                Observer<String> second = value -> { };
+                Observer<String> third = value -> { };
+                subject.observe(first);
+                subject.observe(second);
+                subject.observe(third);
+
+                subject.removeObserver(second);
+
+                assertThat(subject.getObservers(), contains(first, third));
+            }
+        }
+
         @Nested
         @DisplayName("When all observers are unregistered")
         class WhenAllUnregistered {
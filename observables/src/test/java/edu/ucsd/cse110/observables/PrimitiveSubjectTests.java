@@ -0,0 +1,136 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Primitive Subjects")
+public class PrimitiveSubjectTests {
+    @Nested
+    @DisplayName("Given a new empty int subject")
+    class GivenEmptyIntSubject {
+        IntSubject subject = new IntSubject();
+        List<Integer> received = new ArrayList<>();
+
+        @Test
+        @DisplayName("Then it is not initialized and an observer is not called")
+        void ThenNotInitialized() {
+            subject.observe(received::add);
+            assertThat(subject.isInitialized(), is(false));
+            assertThat(received, is(empty()));
+        }
+
+        @Test
+        @DisplayName("When set to its default value, then observers are still notified once")
+        void ThenFirstSetNotifies() {
+            subject.observe(received::add);
+            subject.setValue(0);
+            subject.setValue(0);
+            assertThat(received, contains(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given an observed long subject")
+    class GivenObservedLongSubject {
+        LongSubject subject = new LongSubject(5L);
+        List<Long> received = new ArrayList<>();
+        LongObserver observer = subject.observe(received::add);
+
+        @Test
+        @DisplayName("Then the observer receives the current value immediately")
+        void ThenReceivesCurrentValue() {
+            assertThat(received, contains(5L));
+        }
+
+        @Test
+        @DisplayName("When set, then only changes are notified")
+        void ThenOnlyChangesNotified() {
+            subject.setValue(5L);
+            subject.setValue(6L);
+            subject.setValue(6L);
+            subject.setValue(7L);
+            assertThat(received, contains(5L, 6L, 7L));
+        }
+
+        @Test
+        @DisplayName("When the observer is removed, then it is no longer notified")
+        void ThenRemovedIsNotNotified() {
+            subject.removeObserver(observer);
+            subject.setValue(8L);
+            assertThat(received, contains(5L));
+            assertThat(subject.hasObservers(), is(false));
+        }
+
+        @Test
+        @DisplayName("When registered twice, then it is only registered once")
+        void ThenRegisteredOnce() {
+            subject.observe(observer);
+            assertThat(subject.getObservers(), hasSize(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a boolean subject")
+    class GivenBooleanSubject {
+        BooleanSubject subject = new BooleanSubject(false);
+
+        @Test
+        @DisplayName("When toggled, then every observer sees each change")
+        void ThenObserversSeeToggles() {
+            List<Boolean> first = new ArrayList<>();
+            List<Boolean> second = new ArrayList<>();
+            subject.observe(first::add);
+            subject.observe(second::add);
+
+            subject.setValue(true);
+            subject.setValue(false);
+
+            assertThat(first, contains(false, true, false));
+            assertThat(second, contains(false, true, false));
+        }
+    }
+
+    @Test
+    @DisplayName("Threads setting the same subject notify each change once, ending on its value")
+    void testConcurrentSetters() throws InterruptedException {
+        var subject = new BooleanSubject(false);
+        List<Boolean> received = new ArrayList<>();
+        subject.observe(received::add);
+
+        var pool = Executors.newFixedThreadPool(4);
+        var start = new CountDownLatch(1);
+        for (int thread = 0; thread < 4; thread++) {
+            boolean value = thread % 2 == 0;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 2_000; i++) subject.setValue(value);
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+        // Each notification is a change from the one before, and the last is the current value.
+        for (int i = 1; i < received.size(); i++) {
+            assertThat(received.get(i), is(!received.get(i - 1)));
+        }
+        assertThat(received.get(received.size() - 1), is(subject.getValue()));
+    }
+}
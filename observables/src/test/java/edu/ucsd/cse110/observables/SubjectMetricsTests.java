@@ -0,0 +1,103 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+
+@DisplayName("Subject Metrics")
+public class SubjectMetricsTests {
+    @Nested
+    @DisplayName("Given a latency histogram")
+    class GivenHistogram {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        @Test
+        @DisplayName("When values 1 to 1000 are recorded, then percentiles are within a bucket")
+        void ThenPercentilesAreClose() {
+            for (int i = 1; i <= 1000; i++) histogram.record(i);
+
+            assertThat(histogram.getTotalCount(), is(1000L));
+            assertThat(histogram.getMax(), is(1000L));
+            assertThat(histogram.getMean(), is(500.5));
+            assertThat(histogram.getValueAtPercentile(50), is(both(greaterThanOrEqualTo(500L)).and(lessThanOrEqualTo(531L))));
+            assertThat(histogram.getValueAtPercentile(99), is(both(greaterThanOrEqualTo(990L)).and(lessThanOrEqualTo(1000L))));
+        }
+
+        @Test
+        @DisplayName("Then every value falls in a bucket that contains it")
+        void ThenBucketsContainValues() {
+            long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789L, Long.MAX_VALUE};
+            for (long value : values) {
+                int index = LatencyHistogram.indexOf(value);
+                assertThat(LatencyHistogram.highestValueIn(index), is(greaterThanOrEqualTo(value)));
+                if (index > 0) {
+                    assertThat(LatencyHistogram.highestValueIn(index - 1), is(lessThanOrEqualTo(value - 1)));
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Given recording metrics are installed")
+    class GivenRecordingMetrics {
+        RecordingSubjectMetrics metrics = new RecordingSubjectMetrics();
+        PlainMutableSubject<Integer> subject = new PlainMutableSubject<>();
+
+        {
+            Subjects.setMetrics(metrics);
+            subject.setName("counter");
+        }
+
+        @AfterEach
+        void uninstall() {
+            Subjects.setMetrics(null);
+        }
+
+        @Test
+        @DisplayName("When a subject notifies, then notifications and observers are counted")
+        void ThenNotificationsAreCounted() {
+            subject.observe(value -> { });
+            subject.observe(value -> { });
+            subject.setValue(1);
+            subject.setValue(2);
+
+            var stats = metrics.get(subject);
+            assertThat(stats.getNotifications(), is(2L));
+            assertThat(stats.getObservers(), is(2));
+            assertThat(stats.getDispatchNanos().getTotalCount(), is(2L));
+        }
+
+        @Test
+        @DisplayName("When observers are removed, then the observer count follows")
+        void ThenObserverCountFollows() {
+            Observer<Integer> observer = subject.observe(value -> { });
+            subject.removeObserver(observer);
+
+            assertThat(metrics.get(subject).getObservers(), is(0));
+        }
+
+        @Test
+        @DisplayName("When dumped, then every subject is listed by name")
+        void ThenDumpListsSubjects() {
+            subject.setValue(1);
+            assertThat(metrics.dump(), containsString("counter"));
+        }
+
+        @Test
+        @DisplayName("When uninstalled, then nothing more is recorded")
+        void ThenUninstalledRecordsNothing() {
+            Subjects.setMetrics(null);
+            subject.setValue(1);
+            assertThat(metrics.get(subject), is(nullValue()));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Time-based Transformations")
+public class TimedTransformationsTests {
+    VirtualScheduler scheduler = new VirtualScheduler();
+    PlainMutableSubject<Integer> source = new PlainMutableSubject<>(0);
+    List<Integer> received = new ArrayList<>();
+
+    @Nested
+    @DisplayName("Given a debounced subject")
+    class GivenDebounce {
+        Subject<Integer> debounced = Transformations.debounce(source, 100, scheduler);
+        Observer<Integer> observer = debounced.observe(received::add);
+
+        @Test
+        @DisplayName("Then a value is passed on once the source has been quiet long enough")
+        void ThenWaitsForQuiet() {
+            scheduler.advanceBy(99);
+            assertThat(received, is(empty()));
+            scheduler.advanceBy(1);
+            assertThat(received, contains(0));
+        }
+
+        @Test
+        @DisplayName("When changes keep coming, then only the last of the burst is passed on")
+        void ThenBurstCollapses() {
+            scheduler.advanceBy(100);
+            for (int i = 1; i <= 5; i++) {
+                source.setValue(i);
+                scheduler.advanceBy(50);
+            }
+            assertThat(received, contains(0));
+
+            scheduler.advanceBy(50);
+            assertThat(received, contains(0, 5));
+        }
+
+        @Test
+        @DisplayName("When the last observer leaves, then the pending timer is cancelled")
+        void ThenCancelsWhenUnobserved() {
+            debounced.removeObserver(observer);
+            assertThat(scheduler.pendingCount(), is(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a throttled subject")
+    class GivenThrottle {
+        Subject<Integer> throttled = Transformations.throttleLatest(source, 100, scheduler);
+
+        {
+            throttled.observe(received::add);
+        }
+
+        @Test
+        @DisplayName("Then the first value is passed on right away")
+        void ThenFirstIsImmediate() {
+            assertThat(received, contains(0));
+        }
+
+        @Test
+        @DisplayName("When changes come faster than the interval, then the latest is passed on once per interval")
+        void ThenAtMostOncePerInterval() {
+            source.setValue(1);
+            source.setValue(2);
+            scheduler.advanceBy(50);
+            source.setValue(3);
+            assertThat(received, contains(0));
+
+            scheduler.advanceBy(50);
+            assertThat(received, contains(0, 3));
+
+            source.setValue(4);
+            scheduler.advanceBy(99);
+            assertThat(received, contains(0, 3));
+            scheduler.advanceBy(1);
+            assertThat(received, contains(0, 3, 4));
+        }
+
+        @Test
+        @DisplayName("When the source stays unchanged, then nothing more is passed on and no timer is left")
+        void ThenIdleWhenUnchanged() {
+            scheduler.advanceBy(1_000);
+            assertThat(received, contains(0));
+            assertThat(scheduler.pendingCount(), is(0));
+
+            source.setValue(1);
+            assertThat(received, contains(0, 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a sampled subject")
+    class GivenSample {
+        Subject<Integer> sampled = Transformations.sample(source, 100, scheduler);
+        Observer<Integer> observer = sampled.observe(received::add);
+
+        @Test
+        @DisplayName("Then the latest value is passed on at each sample, only if it changed")
+        void ThenSamplesChanges() {
+            source.setValue(1);
+            source.setValue(2);
+            scheduler.advanceBy(100);
+            assertThat(received, contains(2));
+
+            scheduler.advanceBy(100);
+            assertThat(received, contains(2));
+
+            source.setValue(3);
+            scheduler.advanceBy(100);
+            assertThat(received, contains(2, 3));
+        }
+
+        @Test
+        @DisplayName("When the last observer leaves, then sampling stops")
+        void ThenStopsWhenUnobserved() {
+            sampled.removeObserver(observer);
+            assertThat(scheduler.pendingCount(), is(0));
+            assertThat(source.hasObservers(), is(false));
+        }
+    }
+
+    @Test
+    @DisplayName("The virtual scheduler runs due tasks in order, including ones they schedule")
+    void testVirtualSchedulerOrder() {
+        var ran = new ArrayList<String>();
+        scheduler.schedule(() -> ran.add("b@20"), 20);
+        scheduler.schedule(() -> {
+            ran.add("a@10");
+            scheduler.schedule(() -> ran.add("c@15"), 5);
+        }, 10);
+        var cancelled = scheduler.schedule(() -> ran.add("cancelled"), 5);
+        cancelled.cancel();
+
+        scheduler.advanceBy(30);
+        assertThat(ran, contains("a@10", "c@15", "b@20"));
+        assertThat(scheduler.now(), is(30L));
+    }
+}
@@ -4,11 +4,17 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -107,4 +113,320 @@ public class TransformationsTests {
             assertThat(outputLatch.getCount(), is(0L));
         });
     }
+
+    @Test
+    @DisplayName("dropping repeats (distinctUntilChanged)")
+    void testDistinctUntilChanged() {
+        var input = new PlainMutableSubject<String>();
+        var output = Transformations.distinctUntilChanged(input);
+
+        List<String> received = new ArrayList<>();
+        output.observe(received::add);
+
+        input.setValue("a");
+        input.setValue("a");
+        input.setValue(new String("a"));
+        input.setValue("b");
+        input.setValue("a");
+
+        assertThat(received, contains("a", "b", "a"));
+    }
+
+    @Test
+    @DisplayName("dropping repeats with a custom equivalence (distinctUntilChanged)")
+    void testDistinctUntilChangedEquivalence() {
+        var input = new PlainMutableSubject<String>();
+        var output = Transformations.distinctUntilChanged(input, String::equalsIgnoreCase);
+
+        List<String> received = new ArrayList<>();
+        output.observe(received::add);
+
+        input.setValue("hello");
+        input.setValue("HELLO");
+        input.setValue("world");
+
+        assertThat(received, contains("hello", "world"));
+        // The latest value is still kept, only the notification is skipped.
+        input.setValue("WORLD");
+        assertThat(output.getValue(), is("WORLD"));
+        assertThat(received, contains("hello", "world"));
+    }
+
+    @Test
+    @DisplayName("equivalence policy on a plain subject")
+    void testSubjectEquivalence() {
+        var subject = new PlainMutableSubject<Integer>();
+        subject.setEquivalence(Integer::equals);
+
+        List<Integer> received = new ArrayList<>();
+        subject.observe(received::add);
+
+        subject.setValue(1);
+        subject.setValue(1);
+        subject.setValue(2);
+        subject.setEquivalence(null);
+        subject.setValue(2);
+
+        assertThat(received, contains(1, 2, 2));
+    }
+
+    @Test
+    @DisplayName("derived subjects only observe their source while observed (map)")
+    void testMapConnectsLazily() {
+        var input = new PlainMutableSubject<String>("hello");
+        var output = Transformations.map(input, String::toUpperCase);
+        assertThat(input.hasObservers(), is(false));
+
+        Observer<String> observer = value -> { };
+        output.observe(observer);
+        assertThat(input.getObservers(), hasSize(1));
+
+        output.removeObserver(observer);
+        assertThat(input.getObservers(), is(empty()));
+    }
+
+    @Test
+    @DisplayName("unobserved derived subjects still return the current value (map)")
+    void testUnobservedMapGetValue() {
+        var input = new PlainMutableSubject<String>("hello");
+        var output = Transformations.map(Transformations.map(input, String::toUpperCase), s -> s + "!");
+
+        assertThat(output.getValue(), is("HELLO!"));
+        input.setValue("bye");
+        assertThat(output.getValue(), is("BYE!"));
+        assertThat(input.getObservers(), is(empty()));
+    }
+
+    @Test
+    @DisplayName("a chain of derived subjects disconnects all the way up")
+    void testChainDisconnects() {
+        var input = new PlainMutableSubject<Integer>(0);
+        Subject<Integer> current = input;
+        for (int i = 0; i < 10; i++) {
+            current = Transformations.map(current, value -> value + 1);
+        }
+
+        List<Integer> received = new ArrayList<>();
+        Observer<Integer> observer = current.observe(received::add);
+        input.setValue(5);
+        assertThat(received, contains(10, 15));
+
+        current.removeObservers();
+        assertThat(input.getObservers(), is(empty()));
+
+        // Reconnecting picks up changes made in the meantime.
+        input.setValue(7);
+        received.clear();
+        current.observe(observer);
+        assertThat(received, contains(17));
+    }
+
+    @Test
+    @DisplayName("switched-to subjects are released when unobserved (switchMap)")
+    void testSwitchMapDisconnects() {
+        var left = new PlainMutableSubject<String>("left");
+        var right = new PlainMutableSubject<String>("right");
+        var trigger = new PlainMutableSubject<Boolean>(false);
+
+        var output = Transformations.switchMap(trigger, b -> b ? right : left);
+        Observer<String> observer = output.observe(value -> { });
+        assertThat(left.getObservers(), hasSize(1));
+
+        trigger.setValue(true);
+        assertThat(left.getObservers(), is(empty()));
+        assertThat(right.getObservers(), hasSize(1));
+        assertThat(output.getValue(), is("right"));
+
+        output.removeObserver(observer);
+        assertThat(trigger.getObservers(), is(empty()));
+        assertThat(left.getObservers(), is(empty()));
+        assertThat(right.getObservers(), is(empty()));
+    }
+
+    @Test
+    @DisplayName("recently switched-to subjects are reused and kept warm (cached switchMap)")
+    void testCachedSwitchMap() {
+        var created = new ArrayList<String>();
+        var inners = new HashMap<String, PlainMediatorSubject<String>>();
+        var trigger = new PlainMutableSubject<String>("a");
+
+        var output = Transformations.switchMap(trigger, key -> {
+            created.add(key);
+            var inner = (PlainMediatorSubject<String>) Transformations.map(new PlainMutableSubject<>(key), String::toUpperCase);
+            inners.put(key, inner);
+            return inner;
+        }, 2);
+        Observer<String> observer = output.observe(value -> { });
+
+        trigger.setValue("b");
+        assertThat(output.getValue(), is("B"));
+        trigger.setValue("a");
+        assertThat(output.getValue(), is("A"));
+        trigger.setValue("b");
+        assertThat(output.getValue(), is("B"));
+        assertThat(created, contains("a", "b"));
+        // "a" is not the current source, but it is still connected
+        assertThat(inners.get("a").isConnected(), is(true));
+
+        // A third key evicts the least recently used one, which is let go
+        trigger.setValue("c");
+        assertThat(inners.get("a").hasObservers(), is(false));
+        assertThat(inners.get("b").isConnected(), is(true));
+
+        trigger.setValue("a");
+        assertThat(created, contains("a", "b", "c", "a"));
+
+        output.removeObserver(observer);
+        assertThat(trigger.hasObservers(), is(false));
+        inners.values().forEach(inner -> assertThat(inner.hasObservers(), is(false)));
+    }
+
+    @Test
+    @DisplayName("observing again only warms up the current subject (cached switchMap)")
+    void testCachedSwitchMapReobserved() {
+        var created = new ArrayList<String>();
+        var inners = new HashMap<String, PlainMediatorSubject<String>>();
+        var trigger = new PlainMutableSubject<String>("a");
+
+        var output = Transformations.switchMap(trigger, key -> {
+            created.add(key);
+            var inner = (PlainMediatorSubject<String>) Transformations.map(new PlainMutableSubject<>(key), String::toUpperCase);
+            inners.put(key, inner);
+            return inner;
+        }, 4);
+        Observer<String> observer = output.observe(value -> { });
+        trigger.setValue("b");
+        trigger.setValue("c");
+        output.removeObserver(observer);
+        inners.values().forEach(inner -> assertThat(inner.isConnected(), is(false)));
+
+        observer = output.observe(value -> { });
+        assertThat(output.getValue(), is("C"));
+        assertThat(inners.get("c").isConnected(), is(true));
+        assertThat(inners.get("a").isConnected(), is(false));
+        assertThat(inners.get("b").isConnected(), is(false));
+
+        // Switching back reuses the remembered subject and warms it up again
+        trigger.setValue("a");
+        assertThat(output.getValue(), is("A"));
+        assertThat(created, contains("a", "b", "c"));
+        assertThat(inners.get("a").isConnected(), is(true));
+        assertThat(inners.get("c").isConnected(), is(true));
+        assertThat(inners.get("b").isConnected(), is(false));
+
+        output.removeObserver(observer);
+        inners.values().forEach(inner -> assertThat(inner.hasObservers(), is(false)));
+    }
+
+    @Test
+    @DisplayName("combining waits until every input has a value (combine)")
+    void testCombineWaitsForInputs() {
+        var name = new PlainMutableSubject<String>();
+        var count = new PlainMutableSubject<Integer>();
+        var output = Transformations.combine(name, count, (n, c) -> n + " x" + c);
+
+        List<String> received = new ArrayList<>();
+        output.observe(received::add);
+        name.setValue("task");
+        assertThat(received, is(empty()));
+
+        count.setValue(2);
+        name.setValue("chore");
+        assertThat(received, contains("task x2", "chore x2"));
+    }
+
+    @Test
+    @DisplayName("diamond dependencies recompute once per change, without glitches (combine)")
+    void testCombineDiamond() {
+        var input = new PlainMutableSubject<Integer>(1);
+        var doubled = Transformations.map(input, x -> x * 2);
+        var negated = Transformations.map(input, x -> -x);
+
+        var computations = new int[]{0};
+        var sum = Transformations.combine(doubled, negated, (d, n) -> {
+            computations[0]++;
+            return d + n; // always equal to input if both sides are up to date
+        });
+        // Depends on input both directly and through the diamond below it.
+        var total = Transformations.combine(sum, input, doubled, (s, i, d) -> {
+            computations[0]++;
+            return s + i + d;
+        });
+
+        List<Integer> sums = new ArrayList<>();
+        List<Integer> totals = new ArrayList<>();
+        sum.observe(sums::add);
+        total.observe(totals::add);
+        computations[0] = 0;
+
+        input.setValue(2);
+        input.setValue(3);
+
+        assertThat(sums, contains(1, 2, 3));
+        assertThat(totals, contains(4, 8, 12));
+        assertThat(computations[0], is(4));
+    }
+
+    @Test
+    @DisplayName("combining any number of inputs (combine)")
+    void testCombineList() {
+        var inputs = List.of(
+                new PlainMutableSubject<Integer>(1),
+                new PlainMutableSubject<Integer>(2),
+                new PlainMutableSubject<Integer>(3));
+        var output = Transformations.combine(inputs,
+                (List<Integer> values) -> values.stream().mapToInt(Integer::intValue).sum());
+
+        Observer<Integer> observer = output.observe(value -> { });
+        assertThat(output.getValue(), is(6));
+        inputs.get(1).setValue(20);
+        assertThat(output.getValue(), is(24));
+
+        output.removeObserver(observer);
+        for (var input : inputs) assertThat(input.getObservers(), is(empty()));
+    }
+
+    @Test
+    @DisplayName("keeping a running aggregate of values (scan)")
+    void testScan() {
+        var input = new PlainMutableSubject<Integer>(1);
+        var total = Transformations.scan(input, 0, Integer::sum);
+        var received = new ArrayList<Integer>();
+
+        input.setValue(2);
+        total.observe(received::add);
+        input.setValue(3);
+        input.setValue(4);
+
+        // Values set while the aggregate wasn't observed are still counted.
+        assertThat(received, contains(3, 6, 10));
+
+        // Once disposed of, it lets go of the source and keeps its last value.
+        total.dispose();
+        assertThat(total.isDisposed(), is(true));
+        assertThat(input.getObservers(), is(empty()));
+        input.setValue(5);
+        assertThat(total.getValue(), is(10));
+    }
+
+    @Test
+    @DisplayName("keeping a running aggregate over a map (scanKeyed)")
+    void testScanKeyed() {
+        var map = new ObservableMap<String, Integer>();
+        map.put("a", 1);
+        var total = Transformations.scanKeyed(map, 0, Integer::sum, (sum, value) -> sum - value);
+        assertThat(total.getValue(), is(1));
+
+        map.put("b", 10);
+        map.put("a", 5);
+        assertThat(total.getValue(), is(15));
+
+        map.remove("b");
+        map.remove("missing");
+        assertThat(total.getValue(), is(5));
+
+        total.dispose();
+        map.put("c", 100);
+        assertThat(total.getValue(), is(5));
+    }
 }
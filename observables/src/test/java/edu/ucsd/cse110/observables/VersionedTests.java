@@ -0,0 +1,137 @@
+package edu.ucsd.cse110.observables;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+@DisplayName("Versioned Values")
+public class VersionedTests {
+    @Nested
+    @DisplayName("Given a new subject")
+    class GivenNewSubject {
+        PlainMutableSubject<String> subject = new PlainMutableSubject<>();
+
+        @Test
+        @DisplayName("Then it is at version 0 and uninitialized")
+        void ThenVersionZero() {
+            assertThat(subject.getVersioned(), is(Versioned.uninitialized()));
+            assertThat(subject.getVersioned().isInitialized(), is(false));
+        }
+
+        @Test
+        @DisplayName("When set, then every write bumps the version by one")
+        void ThenWritesBumpVersion() {
+            subject.setValue("a");
+            subject.setValue("a");
+            subject.setValue("b");
+            assertThat(subject.getVersioned(), is(new Versioned<>("b", 3)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given an observed subject at a known version")
+    class GivenKnownVersion {
+        PlainMutableSubject<Integer> subject = new PlainMutableSubject<>(10);
+        List<Integer> received = new ArrayList<>();
+        Versioned<Integer> read = subject.getVersioned();
+
+        {
+            subject.observe(received::add);
+        }
+
+        @Test
+        @DisplayName("When set at that version, then it succeeds and notifies")
+        void ThenMatchingVersionSucceeds() {
+            assertThat(subject.setValueIfVersion(read.value() + 1, read.version()), is(true));
+            assertThat(subject.getVersioned(), is(new Versioned<>(11, 2)));
+            assertThat(received, contains(10, 11));
+        }
+
+        @Test
+        @DisplayName("When someone else wrote first, then it fails and changes nothing")
+        void ThenStaleVersionFails() {
+            subject.setValue(20);
+            assertThat(subject.setValueIfVersion(read.value() + 1, read.version()), is(false));
+            assertThat(subject.getValue(), is(20));
+            assertThat(received, contains(10, 20));
+        }
+
+        @Test
+        @DisplayName("When posted at that version, then it is stored now but notified on the executor")
+        void ThenPostedIsStoredNow() {
+            var executor = new DispatchTests.QueuedExecutor();
+            subject.setPostExecutor(executor);
+            received.clear();
+
+            assertThat(subject.postValueIfVersion(11, read.version()), is(true));
+            assertThat(subject.postValueIfVersion(12, read.version() + 1), is(true));
+            assertThat(subject.getValue(), is(12));
+            assertThat(received, is(empty()));
+
+            executor.runAll();
+            assertThat(received, contains(12));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a derived subject that nobody observes")
+    class GivenUnobservedMediator {
+        PlainMutableSubject<Integer> source = new PlainMutableSubject<>(1);
+        Subject<Integer> doubled = Transformations.map(source, x -> x * 2);
+
+        @Test
+        @DisplayName("When read again with nothing written upstream, then the version stays the same")
+        void ThenReadsKeepVersion() {
+            var first = doubled.getVersioned();
+            assertThat(doubled.getVersioned(), is(first));
+            assertThat(doubled.getVersioned().version(), is(first.version()));
+        }
+
+        @Test
+        @DisplayName("When the source is written, then the next read is at a new version")
+        void ThenWriteUpstreamBumpsVersion() {
+            var first = doubled.getVersioned();
+            source.setValue(5);
+            var second = doubled.getVersioned();
+            assertThat(second.value(), is(10));
+            assertThat(second.version() > first.version(), is(true));
+            assertThat(doubled.getVersioned(), is(second));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given several threads incrementing optimistically")
+    class GivenConcurrentWriters {
+        PlainMutableSubject<Integer> subject = new PlainMutableSubject<>(0);
+
+        @Test
+        @DisplayName("Then no increment is lost")
+        void ThenNoIncrementIsLost() throws InterruptedException {
+            var pool = Executors.newFixedThreadPool(4);
+            for (int thread = 0; thread < 4; thread++) {
+                pool.execute(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        Versioned<Integer> current;
+                        do {
+                            current = subject.getVersioned();
+                        } while (!subject.setValueIfVersion(current.value() + 1, current.version()));
+                    }
+                });
+            }
+            pool.shutdown();
+            assertThat(pool.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+            assertThat(subject.getVersioned(), is(new Versioned<>(4000, 4001)));
+        }
+    }
+}
@@ -25,3 +25,4 @@ rootProject.name = "Habitizer"
 include(":app")
 include(":lib")
 include(":observables")
+include(":benchmarks")